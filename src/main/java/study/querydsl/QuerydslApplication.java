@@ -4,13 +4,24 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
-@SpringBootApplication
+// R2DBC는 선택 기능이므로 자동 설정을 끄고 ReactiveConfig에서 직접 등록한다.
+// (자동 설정을 켜면 R2dbcTransactionManager가 JPA 트랜잭션 매니저와 함께 등록된다.)
+@EnableScheduling
+@SpringBootApplication(
+    exclude = {R2dbcAutoConfiguration.class, R2dbcTransactionManagerAutoConfiguration.class})
 public class QuerydslApplication {
 
   public static void main(String[] args) {
-    SpringApplication.run(QuerydslApplication.class, args);
+    SpringApplication application = new SpringApplication(QuerydslApplication.class);
+    // 기동 단계별 시간 기록 (StartupTimingsReporter, /actuator/startup)
+    application.setApplicationStartup(new BufferingApplicationStartup(2048));
+    application.run(args);
   }
 
   @Bean
@@ -0,0 +1,126 @@
+package study.querydsl.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+/**
+ * Hibernate Statistics 조회 (/actuator/hibernatestats)
+ *
+ * <p>쿼리 플랜 캐시 적중률, 엔티티 로딩/fetch 횟수, flush 횟수, Member/Team 엔티티와 2차 캐시 통계, 실행 시간이 긴 쿼리
+ * 목록을 돌려준다. DELETE 요청은 누적 통계를 초기화한다. 샘플링 모드에서는 HibernateStatisticsSampler가 켜 둔 구간의
+ * 값만 누적된다.
+ */
+@Component
+@Endpoint(id = "hibernatestats")
+public class HibernateStatisticsEndpoint {
+
+  private static final int DEFAULT_TOP_QUERIES = 20;
+  private static final List<Class<?>> ENTITIES = List.of(Member.class, Team.class);
+
+  private final Statistics statistics;
+
+  public HibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory) {
+    this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  @ReadOperation
+  public Map<String, Object> statistics(@Nullable Integer top) {
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("enabled", statistics.isStatisticsEnabled());
+    result.put("startTime", statistics.getStart());
+
+    Map<String, Object> session = new LinkedHashMap<>();
+    session.put("queryPlanCacheHitCount", statistics.getQueryPlanCacheHitCount());
+    session.put("queryPlanCacheMissCount", statistics.getQueryPlanCacheMissCount());
+    session.put("queryExecutionCount", statistics.getQueryExecutionCount());
+    session.put("queryExecutionMaxTime", statistics.getQueryExecutionMaxTime());
+    session.put(
+        "queryExecutionMaxTimeQueryString", statistics.getQueryExecutionMaxTimeQueryString());
+    session.put("entityLoadCount", statistics.getEntityLoadCount());
+    session.put("entityFetchCount", statistics.getEntityFetchCount());
+    session.put("collectionLoadCount", statistics.getCollectionLoadCount());
+    session.put("collectionFetchCount", statistics.getCollectionFetchCount());
+    session.put("flushCount", statistics.getFlushCount());
+    session.put("prepareStatementCount", statistics.getPrepareStatementCount());
+    session.put("secondLevelCacheHitCount", statistics.getSecondLevelCacheHitCount());
+    session.put("secondLevelCacheMissCount", statistics.getSecondLevelCacheMissCount());
+    session.put("secondLevelCachePutCount", statistics.getSecondLevelCachePutCount());
+    result.put("session", session);
+
+    Map<String, Object> entities = new LinkedHashMap<>();
+    for (Class<?> entity : ENTITIES) {
+      entities.put(entity.getSimpleName(), entity(entity.getName()));
+    }
+    result.put("entities", entities);
+
+    result.put("queries", queries(top != null ? top : DEFAULT_TOP_QUERIES));
+    return result;
+  }
+
+  @DeleteOperation
+  public void clear() {
+    statistics.clear();
+  }
+
+  private Map<String, Object> entity(String entityName) {
+    EntityStatistics stats = statistics.getEntityStatistics(entityName);
+    Map<String, Object> result = new LinkedHashMap<>();
+    result.put("loadCount", stats.getLoadCount());
+    result.put("fetchCount", stats.getFetchCount());
+    result.put("insertCount", stats.getInsertCount());
+    result.put("updateCount", stats.getUpdateCount());
+    result.put("deleteCount", stats.getDeleteCount());
+    // 2차 캐시를 쓰지 않는 엔티티는 캐시 영역이 없다.
+    String region = stats.getCacheRegionName();
+    CacheRegionStatistics cache =
+        region != null ? statistics.getDomainDataRegionStatistics(region) : null;
+    if (cache != null) {
+      result.put("cacheHitCount", cache.getHitCount());
+      result.put("cacheMissCount", cache.getMissCount());
+      result.put("cachePutCount", cache.getPutCount());
+    }
+    return result;
+  }
+
+  // 최대 실행 시간이 긴 순서
+  private List<Map<String, Object>> queries(int top) {
+    return Arrays.stream(statistics.getQueries())
+        .map(query -> Map.entry(query, statistics.getQueryStatistics(query)))
+        .sorted(
+            Comparator.comparingLong(
+                    (Map.Entry<String, QueryStatistics> entry) ->
+                        entry.getValue().getExecutionMaxTime())
+                .reversed())
+        .limit(top)
+        .map(
+            entry -> {
+              QueryStatistics stats = entry.getValue();
+              Map<String, Object> query = new LinkedHashMap<>();
+              query.put("query", entry.getKey());
+              query.put("executionCount", stats.getExecutionCount());
+              query.put("executionMaxTime", stats.getExecutionMaxTime());
+              query.put("executionAvgTime", stats.getExecutionAvgTime());
+              query.put("executionRowCount", stats.getExecutionRowCount());
+              query.put("planCacheHitCount", stats.getPlanCacheHitCount());
+              query.put("planCacheMissCount", stats.getPlanCacheMissCount());
+              return query;
+            })
+        .toList();
+  }
+}
@@ -0,0 +1,135 @@
+package study.querydsl.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.HibernateQueryMetrics;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hibernate Statistics 수집 모드 (member.hibernate-stats.mode)
+ *
+ * <ul>
+ *   <li>always: 항상 수집한다.
+ *   <li>sampling: sample-interval 마다 sample-window 동안만 수집한다. 수집 중에는 모든 세션이 통계용 카운터를 갱신하므로
+ *       운영 환경에서는 이 모드로 비용을 줄인다. (기본값)
+ *   <li>off: 수집하지 않는다.
+ * </ul>
+ *
+ * <p>세션 팩토리 통계는 hibernate-micrometer가 hibernate.* 미터로 내보내고, 쿼리별 실행 시간은 여기서
+ * hibernate.query.* 미터로 등록한다. 바인딩 시점에 통계가 켜져 있어야 하므로
+ * hibernate.generate_statistics=true로 시작하고 바인딩이 끝난 뒤 모드에 맞게 끈다.
+ *
+ * <p>HibernateQueryMetrics는 엔티티를 로딩할 때마다 모든 쿼리의 미터를 다시 등록하므로 always 모드에서만 쓴다.
+ * sampling 모드에서는 수집 구간이 끝날 때 새로 나온 쿼리의 미터만 한 번 등록한다. (값은 QueryStatistics에서 읽는다)
+ */
+@Slf4j
+@Component
+@Lazy(false)
+public class HibernateStatisticsSampler {
+
+  private final Statistics statistics;
+  private final SessionFactory sessionFactory;
+  private final MeterRegistry meterRegistry;
+  private final String mode;
+  private final Duration window;
+
+  private final Set<String> publishedQueries = ConcurrentHashMap.newKeySet();
+
+  private volatile long windowEndNanos;
+
+  public HibernateStatisticsSampler(
+      EntityManagerFactory entityManagerFactory,
+      MeterRegistry meterRegistry,
+      @Value("${member.hibernate-stats.mode:sampling}") String mode,
+      @Value("${member.hibernate-stats.sample-window:PT10S}") Duration window) {
+    this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    this.statistics = sessionFactory.getStatistics();
+    this.meterRegistry = meterRegistry;
+    this.mode = mode;
+    this.window = window;
+  }
+
+  // hibernate-micrometer 바인딩(HibernateMetricsAutoConfiguration)은 모든 싱글톤 생성 이후에 일어나므로
+  // 그 다음인 컨텍스트 refresh 완료 시점에 모드를 적용한다.
+  @EventListener(ContextRefreshedEvent.class)
+  public void init() {
+    if ("always".equals(mode) && statistics.isStatisticsEnabled()) {
+      new HibernateQueryMetrics(sessionFactory, "entityManagerFactory", Tags.empty())
+          .bindTo(meterRegistry);
+    }
+    statistics.setStatisticsEnabled("always".equals(mode));
+    log.info("hibernate statistics mode={}", mode);
+  }
+
+  @Scheduled(
+      initialDelayString = "${member.hibernate-stats.sample-interval:PT1M}",
+      fixedRateString = "${member.hibernate-stats.sample-interval:PT1M}")
+  public void startSample() {
+    if ("sampling".equals(mode)) {
+      windowEndNanos = System.nanoTime() + window.toNanos();
+      statistics.setStatisticsEnabled(true);
+    }
+  }
+
+  @Scheduled(fixedDelay = 1000)
+  public void endSample() {
+    if ("sampling".equals(mode)
+        && statistics.isStatisticsEnabled()
+        && System.nanoTime() - windowEndNanos >= 0) {
+      statistics.setStatisticsEnabled(false);
+      publishQueryMetrics();
+    }
+  }
+
+  // HibernateQueryMetrics와 같은 이름과 태그로 등록한다.
+  private void publishQueryMetrics() {
+    for (String query : statistics.getQueries()) {
+      if (!publishedQueries.add(query)) {
+        continue;
+      }
+      QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+      Tags tags = Tags.of("entityManagerFactory", "entityManagerFactory", "query", query);
+      FunctionTimer.builder(
+              "hibernate.query.execution.total",
+              queryStatistics,
+              QueryStatistics::getExecutionCount,
+              QueryStatistics::getExecutionTotalTime,
+              TimeUnit.MILLISECONDS)
+          .tags(tags)
+          .description("Query executions")
+          .register(meterRegistry);
+      TimeGauge.builder(
+              "hibernate.query.execution.max",
+              queryStatistics,
+              TimeUnit.MILLISECONDS,
+              QueryStatistics::getExecutionMaxTime)
+          .tags(tags)
+          .description("Query maximum execution time")
+          .register(meterRegistry);
+      FunctionCounter.builder(
+              "hibernate.query.execution.rows",
+              queryStatistics,
+              QueryStatistics::getExecutionRowCount)
+          .tags(tags)
+          .description("Queried rows")
+          .register(meterRegistry);
+    }
+  }
+}
@@ -0,0 +1,51 @@
+package study.querydsl.config;
+
+import java.nio.file.Path;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import study.querydsl.repository.MemberSnapshotRepository;
+import study.querydsl.repository.MemberSnapshotRepository.SnapshotInfo;
+
+// 기동 시 스냅샷 내보내기/복원
+// 예) --member.snapshot.export=/tmp/members.snap
+//     --member.snapshot.restore=/tmp/members.snap
+// 복원은 기본적으로 기존 member/team을 지운다. (유지하려면 --member.snapshot.replace=false)
+// 복원할 때는 InitMember가 샘플 데이터를 넣지 않으므로 JPA가 id 블록을 받아 두기 전에 복원된다.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MemberSnapshotRunner implements ApplicationRunner {
+
+  private final MemberSnapshotRepository snapshotRepository;
+
+  @Value("${member.snapshot.export:}")
+  private String exportPath;
+
+  @Value("${member.snapshot.restore:}")
+  private String restorePath;
+
+  @Value("${member.snapshot.replace:true}")
+  private boolean replace;
+
+  @Override
+  public void run(ApplicationArguments args) throws Exception {
+    if (!restorePath.isEmpty()) {
+      long start = System.nanoTime();
+      SnapshotInfo info = snapshotRepository.restore(Path.of(restorePath), replace);
+      log.info("snapshot restored from {} {} in {} ms", restorePath, info, millisSince(start));
+    }
+    if (!exportPath.isEmpty()) {
+      long start = System.nanoTime();
+      SnapshotInfo info = snapshotRepository.export(Path.of(exportPath));
+      log.info("snapshot exported to {} {} in {} ms", exportPath, info, millisSince(start));
+    }
+  }
+
+  private static long millisSince(long start) {
+    return (System.nanoTime() - start) / 1_000_000;
+  }
+}
@@ -0,0 +1,38 @@
+package study.querydsl.config;
+
+import static io.r2dbc.spi.ConnectionFactoryOptions.PASSWORD;
+import static io.r2dbc.spi.ConnectionFactoryOptions.USER;
+
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+// 리액티브 회원 검색(/reactive/**)용 R2DBC 설정. member.reactive.enabled=true 일 때만 등록된다.
+@Configuration
+@ConditionalOnProperty(name = "member.reactive.enabled", havingValue = "true")
+public class ReactiveConfig {
+
+  @Bean
+  ConnectionFactory memberConnectionFactory(
+      @Value("${member.reactive.url:r2dbc:pool:h2:tcp://localhost/~/querydsl}") String url,
+      @Value("${member.reactive.username:sa}") String username,
+      @Value("${member.reactive.password:}") String password) {
+    ConnectionFactoryOptions options =
+        ConnectionFactoryOptions.parse(url)
+            .mutate()
+            .option(USER, username)
+            .option(PASSWORD, password)
+            .build();
+    return ConnectionFactories.get(options);
+  }
+
+  @Bean
+  DatabaseClient memberDatabaseClient(ConnectionFactory memberConnectionFactory) {
+    return DatabaseClient.create(memberConnectionFactory);
+  }
+}
@@ -0,0 +1,66 @@
+package study.querydsl.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.sql.DataSource;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import study.querydsl.repository.ShardedMemberRepository;
+
+// team_id 기준 샤딩 설정. member.sharding.enabled=true 이고 member.sharding.urls에 샤드 목록을 지정한다.
+@Configuration
+@ConditionalOnProperty(name = "member.sharding.enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingConfig.ShardingProperties.class)
+public class ShardingConfig {
+
+  // 샤드 커넥션 풀. 컨텍스트 종료 시 shardedMemberRepository(스레드 풀)가 먼저 닫힌 뒤 함께 닫는다.
+  private final List<HikariDataSource> shardDataSources = new CopyOnWriteArrayList<>();
+
+  @Bean(destroyMethod = "close")
+  ShardedMemberRepository shardedMemberRepository(ShardingProperties properties) {
+    List<DataSource> dataSources =
+        properties.getUrls().stream().map(url -> dataSource(url, properties)).toList();
+    ShardedMemberRepository repository = new ShardedMemberRepository(dataSources);
+    try {
+      repository.createSchema();
+    } catch (RuntimeException e) {
+      repository.close();
+      closeShardDataSources();
+      throw e;
+    }
+    return repository;
+  }
+
+  private DataSource dataSource(String url, ShardingProperties properties) {
+    HikariDataSource dataSource = new HikariDataSource();
+    dataSource.setJdbcUrl(url);
+    dataSource.setUsername(properties.getUsername());
+    dataSource.setPassword(properties.getPassword());
+    dataSource.setMaximumPoolSize(properties.getPoolSize());
+    shardDataSources.add(dataSource);
+    return dataSource;
+  }
+
+  @PreDestroy
+  void closeShardDataSources() {
+    shardDataSources.forEach(HikariDataSource::close);
+    shardDataSources.clear();
+  }
+
+  @Getter
+  @Setter
+  @ConfigurationProperties("member.sharding")
+  public static class ShardingProperties {
+    private List<String> urls = List.of();
+    private String username = "sa";
+    private String password = "";
+    private int poolSize = 5;
+  }
+}
@@ -0,0 +1,74 @@
+package study.querydsl.config;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * 기동 후 백그라운드 작업(데이터 적재, 쿼리 워밍업 등)이 끝날 때까지 readiness를 DOWN으로 유지한다.
+ *
+ * <p>작업은 등록 순서대로 전용 스레드 하나에서 실행된다. readiness 그룹(management.endpoint.health.group.readiness)에
+ * 포함되어 있으므로 로드밸런서는 작업이 끝난 뒤에 트래픽을 보낸다.
+ */
+@Slf4j
+@Component
+public class StartupGate implements HealthIndicator, DisposableBean {
+
+  private final ExecutorService executor =
+      Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "startup-gate"));
+  private final AtomicInteger pending = new AtomicInteger();
+  // 작업 이름 -> 걸린 시간 (실패한 작업은 남지 않는다)
+  private final Map<String, Duration> completed = new ConcurrentHashMap<>();
+  private volatile String failed;
+
+  // ApplicationReadyEvent 리스너 안에서 호출해야 readiness가 ACCEPTING으로 바뀌기 전에 작업이 등록된다.
+  public void run(String name, Runnable task) {
+    pending.incrementAndGet();
+    executor.execute(
+        () -> {
+          long start = System.nanoTime();
+          try {
+            task.run();
+            Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+            completed.put(name, elapsed);
+            log.info("startup task {} finished in {} ms", name, elapsed.toMillis());
+          } catch (RuntimeException e) {
+            failed = name;
+            log.error("startup task {} failed", name, e);
+          } finally {
+            pending.decrementAndGet();
+          }
+        });
+  }
+
+  public boolean isOpen() {
+    return pending.get() == 0 && failed == null;
+  }
+
+  public Map<String, Duration> getCompleted() {
+    return Map.copyOf(completed);
+  }
+
+  @Override
+  public Health health() {
+    Health.Builder builder = isOpen() ? Health.up() : Health.outOfService();
+    completed.forEach((name, elapsed) -> builder.withDetail(name, elapsed.toMillis() + "ms"));
+    if (failed != null) {
+      builder.withDetail("failed", failed);
+    }
+    return builder.withDetail("pending", pending.get()).build();
+  }
+
+  @Override
+  public void destroy() {
+    executor.shutdownNow();
+  }
+}
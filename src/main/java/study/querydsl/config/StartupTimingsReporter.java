@@ -0,0 +1,39 @@
+package study.querydsl.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.Comparator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline.TimelineEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+// 기동 단계별 시간을 로그로 남긴다. (JVM 시작 -> 컨텍스트 준비, 가장 오래 걸린 기동 단계)
+// 단계별 전체 목록은 /actuator/startup 에서 볼 수 있다.
+@Slf4j
+@Component
+public class StartupTimingsReporter {
+
+  private static final int TOP_STEPS = 10;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void report(ApplicationReadyEvent event) {
+    log.info(
+        "startup: jvm uptime {} ms, application ready in {} ms",
+        ManagementFactory.getRuntimeMXBean().getUptime(),
+        event.getTimeTaken() != null ? event.getTimeTaken().toMillis() : -1);
+    if (event.getApplicationContext().getApplicationStartup()
+        instanceof BufferingApplicationStartup startup) {
+      startup.getBufferedTimeline().getEvents().stream()
+          .sorted(Comparator.comparing(TimelineEvent::getDuration).reversed())
+          .limit(TOP_STEPS)
+          .forEach(
+              step ->
+                  log.info(
+                      "startup step {} {} ms",
+                      step.getStartupStep().getName(),
+                      step.getDuration().toMillis()));
+    }
+  }
+}
@@ -0,0 +1,35 @@
+package study.querydsl.config;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import study.querydsl.controller.MemberBinaryHttpMessageConverter;
+import study.querydsl.controller.SearchAdmissionInterceptor;
+import study.querydsl.controller.SearchEtagInterceptor;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+  private final SearchEtagInterceptor searchEtagInterceptor;
+  private final SearchAdmissionInterceptor searchAdmissionInterceptor;
+
+  @Override
+  public void addInterceptors(InterceptorRegistry registry) {
+    // 304로 끝나는 요청은 동시 실행 수 제한에 들어가지 않도록 먼저 등록한다.
+    registry.addInterceptor(searchEtagInterceptor).addPathPatterns("/v1/members", "/v3/members");
+    registry
+        .addInterceptor(searchAdmissionInterceptor)
+        .addPathPatterns("/v1/members", "/v1/members/**", "/v3/members", "/v3/members/**");
+  }
+
+  // Accept: application/x-member-binary (회원 검색 결과 전용). application/cbor는 jackson-dataformat-cbor가
+  // 있으면 기본 컨버터로 등록된다. Accept가 없거나 */* 이면 기존처럼 JSON이 선택되도록 맨 뒤에 추가한다.
+  @Override
+  public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+    converters.add(new MemberBinaryHttpMessageConverter());
+  }
+}
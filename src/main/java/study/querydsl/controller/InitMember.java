@@ -4,20 +4,39 @@ import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.config.StartupGate;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
 @Profile("local")
 @Component
+@Lazy(false)
 @RequiredArgsConstructor
 public class InitMember {
 
   //
 
   private final InitMemberService initMemberService;
+  private final StartupGate startupGate;
+
+  // true면 기동을 막지 않고 ApplicationReadyEvent 이후 백그라운드에서 적재한다. (fast 프로필)
+  // 적재가 끝날 때까지 StartupGate가 readiness를 DOWN으로 유지한다.
+  @Value("${member.init.async:false}")
+  private boolean async;
+
+  // 스냅샷을 복원하는 기동에서는 적재하지 않는다. JPA로 먼저 insert하면 Hibernate가 받아 둔 id 블록이
+  // 복원된 행의 id와 겹친다. (MemberSnapshotRepository 참고)
+  @Value("${member.snapshot.restore:}")
+  private String snapshotRestorePath;
 
   @PostConstruct
   // 이 PostConstruct와 아래 Transactional은 Spring LifeCycle 때문에 이렇게 따로 빼준 것이다.
@@ -28,7 +47,18 @@ public class InitMember {
   // 이런 것을 우회하는 여러가지 방법이있는데요. 제가 보여드린 방법(다른 스프링 빈을 호출해서 사용하는 방법)을 포함해서, AOP를 사용하지 않고 트랜잭션을 직접 코딩하는
   // 방법, 애플리케이션 컨텍스트가 완전히 초기화 된 이벤트를 받아서 호출하는 방법 등이 있습니다.
   public void init() {
-    initMemberService.init();
+    if (!async && snapshotRestorePath.isEmpty()) {
+      initMemberService.init();
+    }
+  }
+
+  // 쿼리 워밍업(MemberQueryWarmup)보다 먼저 등록한다.
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @EventListener(ApplicationReadyEvent.class)
+  public void initAsync() {
+    if (async && snapshotRestorePath.isEmpty()) {
+      startupGate.run("seed", initMemberService::init);
+    }
   }
 
   @Component
@@ -38,6 +68,10 @@ public class InitMember {
 
     @Transactional
     public void init() {
+      // ddl-auto가 create가 아니면(fast 프로필) 재시작할 때 이미 적재된 데이터가 남아 있다.
+      if (em.createQuery("select count(m) from Member m", Long.class).getSingleResult() > 0) {
+        return;
+      }
       Team teamA = new Team("teamA");
       Team teamB = new Team("teamB");
       em.persist(teamA);
@@ -0,0 +1,199 @@
+package study.querydsl.controller;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.http.MediaType;
+import study.querydsl.dto.MemberTeamDto;
+
+/**
+ * 회원 검색 결과용 바이너리 응답 형식 (application/x-member-binary)
+ *
+ * <p>JSON은 행마다 필드 이름과 팀명을 반복하지만, 이 형식은 정수를 varint로 쓰고 팀명은 처음 나올 때 한 번만 정의한 뒤 번호로
+ * 참조한다. 행 수를 앞에 쓰지 않으므로 조회 결과를 목록으로 모으지 않고 읽는 대로 바로 쓸 수 있다.
+ *
+ * <pre>
+ * magic(int, "MBN1") 다음에 레코드가 반복된다. 각 레코드는 태그 1바이트로 시작한다.
+ *   TEAM(1): teamId(varlong) name(string)        다음 팀 번호(1부터)로 등록
+ *   ROW(2):  memberId(varlong) username(string) age(zigzag varint) team(varint, 0이면 팀 없음)
+ *   PAGE(3): totalElements(varlong) number(varint) size(varint)
+ *   END(0)
+ * string: (바이트 길이 + 1)(varint) 뒤에 UTF-8 바이트, 0이면 null
+ * </pre>
+ */
+public final class MemberBinaryFormat {
+
+  public static final String MEDIA_TYPE_VALUE = "application/x-member-binary";
+  public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+  static final int MAGIC = 0x4D424E31;
+
+  private static final int END = 0;
+  private static final int TEAM = 1;
+  private static final int ROW = 2;
+  private static final int PAGE = 3;
+
+  private MemberBinaryFormat() {}
+
+  public static final class Writer {
+
+    private final OutputStream out;
+    private final Map<Long, Integer> teams = new HashMap<>();
+
+    public Writer(OutputStream out) throws IOException {
+      this.out = new BufferedOutputStream(out, 8192);
+      writeInt(MAGIC);
+    }
+
+    public void row(MemberTeamDto dto) throws IOException {
+      row(dto.getMemberId(), dto.getUsername(), dto.getAge(), dto.getTeamId(), dto.getTeamName());
+    }
+
+    public void row(long memberId, String username, int age, Long teamId, String teamName)
+        throws IOException {
+      int team = 0;
+      if (teamId != null) {
+        Integer index = teams.get(teamId);
+        if (index == null) {
+          index = teams.size() + 1;
+          teams.put(teamId, index);
+          out.write(TEAM);
+          writeVarLong(teamId);
+          writeString(teamName);
+        }
+        team = index;
+      }
+      out.write(ROW);
+      writeVarLong(memberId);
+      writeString(username);
+      writeVarLong(Integer.toUnsignedLong((age << 1) ^ (age >> 31)));
+      writeVarLong(team);
+    }
+
+    public void page(long totalElements, int number, int size) throws IOException {
+      out.write(PAGE);
+      writeVarLong(totalElements);
+      writeVarLong(number);
+      writeVarLong(size);
+    }
+
+    // 종료 표시를 쓰고 버퍼를 비운다. (스트림은 닫지 않는다)
+    public void end() throws IOException {
+      out.write(END);
+      out.flush();
+    }
+
+    private void writeInt(int value) throws IOException {
+      out.write(value >>> 24);
+      out.write(value >>> 16);
+      out.write(value >>> 8);
+      out.write(value);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+      while ((value & ~0x7FL) != 0) {
+        out.write((int) ((value & 0x7F) | 0x80));
+        value >>>= 7;
+      }
+      out.write((int) value);
+    }
+
+    private void writeString(String value) throws IOException {
+      if (value == null) {
+        writeVarLong(0);
+        return;
+      }
+      byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      writeVarLong(bytes.length + 1L);
+      out.write(bytes);
+    }
+  }
+
+  // 목록 응답이면 totalElements, number, size는 null
+  public record Decoded(
+      List<MemberTeamDto> content, Long totalElements, Integer number, Integer size) {}
+
+  public static Decoded read(InputStream input) throws IOException {
+    InputStream in = new BufferedInputStream(input);
+    int magic = (readByte(in) << 24) | (readByte(in) << 16) | (readByte(in) << 8) | readByte(in);
+    if (magic != MAGIC) {
+      throw new IOException("not a member binary stream");
+    }
+    List<Long> teamIds = new ArrayList<>();
+    List<String> teamNames = new ArrayList<>();
+    List<MemberTeamDto> content = new ArrayList<>();
+    Long totalElements = null;
+    Integer number = null;
+    Integer size = null;
+    while (true) {
+      int tag = readByte(in);
+      switch (tag) {
+        case END -> {
+          return new Decoded(content, totalElements, number, size);
+        }
+        case TEAM -> {
+          teamIds.add(readVarLong(in));
+          teamNames.add(readString(in));
+        }
+        case ROW -> {
+          long memberId = readVarLong(in);
+          String username = readString(in);
+          int zigzag = (int) readVarLong(in);
+          int age = (zigzag >>> 1) ^ -(zigzag & 1);
+          int team = (int) readVarLong(in);
+          content.add(
+              team == 0
+                  ? new MemberTeamDto(memberId, username, age, null, null)
+                  : new MemberTeamDto(
+                      memberId, username, age, teamIds.get(team - 1), teamNames.get(team - 1)));
+        }
+        case PAGE -> {
+          totalElements = readVarLong(in);
+          number = (int) readVarLong(in);
+          size = (int) readVarLong(in);
+        }
+        default -> throw new IOException("unknown record tag: " + tag);
+      }
+    }
+  }
+
+  private static int readByte(InputStream in) throws IOException {
+    int b = in.read();
+    if (b < 0) {
+      throw new EOFException();
+    }
+    return b;
+  }
+
+  private static long readVarLong(InputStream in) throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 64; shift += 7) {
+      int b = readByte(in);
+      value |= (long) (b & 0x7F) << shift;
+      if ((b & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("malformed varint");
+  }
+
+  private static String readString(InputStream in) throws IOException {
+    int length = (int) readVarLong(in);
+    if (length == 0) {
+      return null;
+    }
+    byte[] bytes = in.readNBytes(length - 1);
+    if (bytes.length != length - 1) {
+      throw new EOFException();
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+}
@@ -0,0 +1,100 @@
+package study.querydsl.controller;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import org.springframework.core.ResolvableType;
+import org.springframework.data.domain.Page;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.lang.Nullable;
+import study.querydsl.dto.MemberTeamDto;
+
+// List<MemberTeamDto>, Page<MemberTeamDto>, MemberTeamRows 응답을 MemberBinaryFormat으로 쓴다. (쓰기 전용)
+// JSON이 기본 형식으로 남도록 WebConfig에서 기본 컨버터들 뒤에 등록한다.
+public class MemberBinaryHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+  public MemberBinaryHttpMessageConverter() {
+    super(MemberBinaryFormat.MEDIA_TYPE);
+  }
+
+  @Override
+  protected boolean supports(Class<?> clazz) {
+    return List.class.isAssignableFrom(clazz)
+        || Page.class.isAssignableFrom(clazz)
+        || MemberTeamRows.class.isAssignableFrom(clazz);
+  }
+
+  @Override
+  public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+    // 원소 타입을 알 수 있는 경우(컨트롤러 반환 타입)에만 쓴다.
+    if (type == null || !canWrite(mediaType) || !supports(clazz)) {
+      return false;
+    }
+    if (MemberTeamRows.class.isAssignableFrom(clazz)) {
+      return true;
+    }
+    ResolvableType elementType = ResolvableType.forType(type).as(Iterable.class).getGeneric(0);
+    return MemberTeamDto.class.equals(elementType.resolve());
+  }
+
+  @Override
+  public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canRead(
+      Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+    return false;
+  }
+
+  @Override
+  protected void writeInternal(Object value, @Nullable Type type, HttpOutputMessage outputMessage)
+      throws IOException {
+    MemberBinaryFormat.Writer writer = new MemberBinaryFormat.Writer(outputMessage.getBody());
+    if (value instanceof Page<?> page) {
+      for (Object row : page.getContent()) {
+        writer.row((MemberTeamDto) row);
+      }
+      writer.page(page.getTotalElements(), page.getNumber(), page.getSize());
+    } else if (value instanceof MemberTeamRows rows) {
+      try {
+        rows.forEach(
+            row -> {
+              try {
+                writer.row(row);
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+      } catch (UncheckedIOException e) {
+        throw e.getCause();
+      }
+    } else {
+      for (Object row : (List<?>) value) {
+        writer.row((MemberTeamDto) row);
+      }
+    }
+    writer.end();
+  }
+
+  @Override
+  public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("member binary format is write-only", inputMessage);
+  }
+
+  @Override
+  protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+    throw new HttpMessageNotReadableException("member binary format is write-only", inputMessage);
+  }
+}
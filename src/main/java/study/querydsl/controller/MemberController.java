@@ -1,15 +1,30 @@
 package study.querydsl.controller;
 
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import study.querydsl.dto.MemberFieldRow;
+import study.querydsl.dto.MemberFieldSet;
+import study.querydsl.dto.MemberImportResult;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJdbcRepository;
 import study.querydsl.repository.MemberJpaRepository;
 import study.querydsl.repository.MemberRepository;
+import study.querydsl.repository.support.MemberBatchSearcher;
+import study.querydsl.repository.support.MemberCsvImporter;
 
 @RestController
 @RequiredArgsConstructor
@@ -19,13 +34,106 @@ public class MemberController {
 
   private final MemberRepository memberRepository;
 
+  private final MemberBatchSearcher memberBatchSearcher;
+
+  private final MemberJdbcRepository memberJdbcRepository;
+
+  private final MemberCsvImporter memberCsvImporter;
+
+  // /v1/members 조회 방식 (jpa: Querydsl + JPA, jdbc: JdbcTemplate 직접 조회)
+  @Value("${member.search.v1-engine:jpa}")
+  private String v1Engine;
+
+  // 페이징 없는 /v1 검색이 한 번에 돌려줄 수 있는 최대 행 수. 넘으면 /v3(페이징)를 쓰도록 400으로 거절한다.
+  // count 쿼리를 따로 실행하지 않고 maxRows + 1 행까지만 조회해서 넘는 행이 있는지 확인한다.
+  @Value("${member.search.max-rows:10000}")
+  private long maxRows;
+
   @GetMapping("/v1/members")
   public List<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
-    return memberJpaRepository.search(condition);
+    if ("jdbc".equalsIgnoreCase(v1Engine)) {
+      return checkRowBudget(memberJdbcRepository.search(condition, maxRows + 1));
+    }
+    return checkRowBudget(memberJpaRepository.search(condition, maxRows + 1));
+  }
+
+  // Accept: application/x-member-binary 이면 MemberBinaryHttpMessageConverter가 JSON 대신 바이너리 형식으로 쓴다.
+  // (v1-engine 설정과 관계없이 JDBC로 조회한다)
+  // maxRows + 1번째 행이 있는지만 먼저 확인하고, 결과 목록을 만들지 않고 조회 결과를 읽는 대로 응답에 쓴다.
+  // 확인한 뒤 응답을 쓰는 사이에 행이 늘어나도 maxRows 행까지만 쓴다.
+  @GetMapping(value = "/v1/members", produces = MemberBinaryFormat.MEDIA_TYPE_VALUE)
+  public MemberTeamRows searchMemberBinaryV1(MemberSearchCondition condition) {
+    if (memberJdbcRepository.hasMoreThan(condition, maxRows)) {
+      throw rowBudgetExceeded();
+    }
+    return action -> memberJdbcRepository.forEach(condition, maxRows, action);
   }
 
   @GetMapping("/v3/members")
   public Page<MemberTeamDto> searchMemberV3(MemberSearchCondition condition, Pageable pageable) {
     return memberRepository.searchPageComplex(condition, pageable);
   }
+
+  // ?fields=memberId,username 처럼 필요한 컬럼만 요청하는 경우
+  @GetMapping(value = "/v1/members", params = "fields")
+  public List<MemberFieldRow> searchMemberFieldsV1(
+      MemberSearchCondition condition, @RequestParam String fields) {
+    MemberFieldSet fieldSet = parseFields(fields);
+    return checkRowBudget(memberJpaRepository.searchFields(condition, fieldSet, maxRows + 1));
+  }
+
+  @GetMapping(value = "/v3/members", params = "fields")
+  public Page<MemberFieldRow> searchMemberFieldsV3(
+      MemberSearchCondition condition, @RequestParam String fields, Pageable pageable) {
+    return memberRepository.searchPageFields(condition, parseFields(fields), pageable);
+  }
+
+  // 여러 검색 조건을 한 번에 보내면 같은 순서로 결과 목록을 돌려준다. 조건마다 max-rows 제한을 받는다.
+  @PostMapping("/v1/members/batch")
+  public List<List<MemberTeamDto>> searchMemberBatchV1(
+      @RequestBody List<MemberSearchCondition> conditions) {
+    List<List<MemberTeamDto>> results;
+    try {
+      results = memberBatchSearcher.search(conditions, maxRows + 1);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+    results.forEach(this::checkRowBudget);
+    return results;
+  }
+
+  // 본문(CSV)을 읽는 대로 배치 insert 한다. 동시에 진행 중인 import가 너무 많으면 503
+  @PostMapping(value = "/v1/members/import", consumes = "text/csv")
+  public MemberImportResult importMembersV1(HttpServletRequest request) throws IOException {
+    try {
+      return memberCsvImporter.importCsv(request.getInputStream());
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    } catch (RejectedExecutionException e) {
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "too many concurrent imports", e);
+    }
+  }
+
+  // maxRows + 1 행까지 조회한 결과에 넘는 행이 있으면 거절한다.
+  private <T> List<T> checkRowBudget(List<T> rows) {
+    if (rows.size() > maxRows) {
+      throw rowBudgetExceeded();
+    }
+    return rows;
+  }
+
+  private ResponseStatusException rowBudgetExceeded() {
+    return new ResponseStatusException(
+        HttpStatus.BAD_REQUEST,
+        "search matches more than " + maxRows + " rows, use /v3/members with paging");
+  }
+
+  private MemberFieldSet parseFields(String fields) {
+    try {
+      return MemberFieldSet.parse(fields);
+    } catch (IllegalArgumentException e) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+    }
+  }
 }
@@ -0,0 +1,34 @@
+package study.querydsl.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberReactiveRepository;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "member.reactive.enabled", havingValue = "true")
+public class MemberReactiveController {
+
+  private final MemberReactiveRepository memberReactiveRepository;
+
+  // NDJSON으로 한 row씩 내려보낸다. 클라이언트가 느리면 DB에서도 그만큼 천천히 읽는다.
+  @GetMapping(value = "/reactive/v1/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<MemberTeamDto> searchMemberV1(MemberSearchCondition condition) {
+    return memberReactiveRepository.search(condition);
+  }
+
+  @GetMapping("/reactive/v3/members")
+  public Mono<Page<MemberTeamDto>> searchMemberV3(
+      MemberSearchCondition condition, Pageable pageable) {
+    return memberReactiveRepository.searchPageComplex(condition, pageable);
+  }
+}
@@ -0,0 +1,12 @@
+package study.querydsl.controller;
+
+import java.util.function.Consumer;
+import study.querydsl.dto.MemberTeamDto;
+
+// 조회 결과를 목록으로 모으지 않고, 컨버터가 응답 본문을 쓰는 동안 한 행씩 넘겨준다.
+// (MemberBinaryHttpMessageConverter가 쓴다)
+@FunctionalInterface
+public interface MemberTeamRows {
+
+  void forEach(Consumer<MemberTeamDto> action);
+}
@@ -0,0 +1,66 @@
+package study.querydsl.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// 검색 API의 엔드포인트(핸들러 메서드)별 동시 실행 수 제한
+// 허용 수를 넘으면 queue-timeout 동안만 기다리고, 그래도 자리가 나지 않으면 바로 503으로 거절한다.
+// 무거운 검색이 DB 커넥션과 요청 스레드를 모두 차지해서 다른 요청까지 밀리는 것을 막는다.
+@Slf4j
+@Component
+public class SearchAdmissionInterceptor implements HandlerInterceptor {
+
+  private static final String PERMIT_ATTRIBUTE =
+      SearchAdmissionInterceptor.class.getName() + ".permit";
+
+  private final Map<HandlerMethod, Semaphore> permits = new ConcurrentHashMap<>();
+  private final int maxConcurrent;
+  private final long queueTimeoutNanos;
+
+  public SearchAdmissionInterceptor(
+      @Value("${member.admission.max-concurrent:8}") int maxConcurrent,
+      @Value("${member.admission.queue-timeout:200ms}") Duration queueTimeout) {
+    this.maxConcurrent = maxConcurrent;
+    this.queueTimeoutNanos = queueTimeout.toNanos();
+  }
+
+  @Override
+  public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+      throws Exception {
+    if (!(handler instanceof HandlerMethod handlerMethod)) {
+      return true;
+    }
+    Semaphore semaphore =
+        permits.computeIfAbsent(handlerMethod, key -> new Semaphore(maxConcurrent, true));
+    if (!semaphore.tryAcquire(queueTimeoutNanos, TimeUnit.NANOSECONDS)) {
+      log.warn("search admission rejected: {}", request.getRequestURI());
+      response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+      response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), "too many concurrent searches");
+      return false;
+    }
+    request.setAttribute(PERMIT_ATTRIBUTE, semaphore);
+    return true;
+  }
+
+  @Override
+  public void afterCompletion(
+      HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+    // preHandle에서 허가를 받은 요청만 반납한다.
+    if (request.getAttribute(PERMIT_ATTRIBUTE) instanceof Semaphore semaphore) {
+      request.removeAttribute(PERMIT_ATTRIBUTE);
+      semaphore.release();
+    }
+  }
+}
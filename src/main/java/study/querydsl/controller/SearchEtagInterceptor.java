@@ -0,0 +1,102 @@
+package study.querydsl.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.Objects;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import study.querydsl.repository.support.MemberDataVersion;
+
+// 검색 GET 요청의 조건부 응답
+// ETag는 데이터 버전과 요청(경로, 쿼리 스트링, Accept)으로 만든다. If-None-Match가 같으면 핸들러를 실행하지 않고
+// 304로 응답하므로 DB 조회와 직렬화를 모두 건너뛴다. (본문을 만든 뒤 해시하는 ShallowEtagHeaderFilter와 다른 점)
+// ETag 헤더는 본문을 쓰기 직전에 2xx 응답에만 붙인다. (400, 503 같은 오류 응답이 캐시되지 않게)
+// MemberDataVersion이 인스턴스 메모리에 있으므로 여러 인스턴스로 운영하면 member.search.etag.enabled=false로 끈다.
+@ControllerAdvice
+public class SearchEtagInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+
+  private static final String ETAG_ATTRIBUTE = SearchEtagInterceptor.class.getName() + ".etag";
+
+  private final MemberDataVersion dataVersion;
+  private final boolean enabled;
+
+  public SearchEtagInterceptor(
+      MemberDataVersion dataVersion, @Value("${member.search.etag.enabled:true}") boolean enabled) {
+    this.dataVersion = dataVersion;
+    this.enabled = enabled;
+  }
+
+  @Override
+  public boolean preHandle(
+      HttpServletRequest request, HttpServletResponse response, Object handler) {
+    if (!enabled || !HttpMethod.GET.matches(request.getMethod())) {
+      return true;
+    }
+    // 조회 전에 버전을 읽는다. 조회 도중 데이터가 바뀌면 응답은 이전 버전으로 태그되고, 커밋 후 버전이 올라가므로
+    // 다음 요청은 다시 조회된다.
+    String etag = etag(request, dataVersion.current());
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+    // 응답(response)을 넘기지 않으면 If-None-Match만 비교하고 헤더/상태는 바꾸지 않는다.
+    if (new ServletWebRequest(request).checkNotModified(etag)) {
+      response.setHeader(HttpHeaders.ETAG, etag);
+      response.setStatus(HttpStatus.NOT_MODIFIED.value());
+      return false;
+    }
+    request.setAttribute(ETAG_ATTRIBUTE, etag);
+    return true;
+  }
+
+  @Override
+  public boolean supports(
+      MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+    return enabled;
+  }
+
+  @Override
+  public Object beforeBodyWrite(
+      Object body,
+      MethodParameter returnType,
+      MediaType selectedContentType,
+      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+      ServerHttpRequest request,
+      ServerHttpResponse response) {
+    if (request instanceof ServletServerHttpRequest servletRequest
+        && response instanceof ServletServerHttpResponse servletResponse
+        && servletRequest.getServletRequest().getAttribute(ETAG_ATTRIBUTE) instanceof String etag
+        && HttpStatusCode.valueOf(servletResponse.getServletResponse().getStatus())
+            .is2xxSuccessful()) {
+      response.getHeaders().setETag(etag);
+    }
+    return body;
+  }
+
+  private String etag(HttpServletRequest request, long version) {
+    int requestHash =
+        Objects.hash(
+            request.getRequestURI(),
+            request.getQueryString(),
+            request.getHeader(HttpHeaders.ACCEPT));
+    return "\""
+        + Long.toHexString(dataVersion.getEpoch())
+        + "-"
+        + Long.toHexString(version)
+        + "-"
+        + Integer.toHexString(requestHash)
+        + "\"";
+  }
+}
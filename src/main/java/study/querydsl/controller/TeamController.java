@@ -0,0 +1,21 @@
+package study.querydsl.controller;
+
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.repository.TeamStatsRepository;
+
+@RestController
+@RequiredArgsConstructor
+public class TeamController {
+
+  private final TeamStatsRepository teamStatsRepository;
+
+  // member 테이블을 groupBy 하지 않고 요약 테이블만 읽는다. (팀 수에 비례)
+  @GetMapping("/teams/stats")
+  public List<TeamStatsDto> teamStats() {
+    return teamStatsRepository.findAll();
+  }
+}
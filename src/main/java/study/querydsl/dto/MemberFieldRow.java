@@ -0,0 +1,40 @@
+package study.querydsl.dto;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.querydsl.core.Tuple;
+import java.io.IOException;
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+// fields 파라미터로 조회한 한 row. 중간 DTO/Map을 만들지 않고 Tuple에서 바로 JSON으로 쓴다.
+@Getter
+@RequiredArgsConstructor
+@JsonSerialize(using = MemberFieldRow.Serializer.class)
+public class MemberFieldRow {
+
+  private final MemberFieldSet fieldSet;
+  private final Tuple tuple;
+
+  public static class Serializer extends StdSerializer<MemberFieldRow> {
+
+    public Serializer() {
+      super(MemberFieldRow.class);
+    }
+
+    @Override
+    public void serialize(MemberFieldRow row, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+      List<MemberFieldSet.Field> fields = row.getFieldSet().getFields();
+      gen.writeStartObject();
+      for (int i = 0; i < fields.size(); i++) {
+        gen.writeFieldName(fields.get(i).getName());
+        provider.defaultSerializeValue(row.getTuple().get(i, Object.class), gen);
+      }
+      gen.writeEndObject();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+package study.querydsl.dto;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.core.types.Expression;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 클라이언트가 fields 파라미터로 요청한 MemberTeamDto 필드 목록
+ *
+ * <p>요청한 컬럼만 select 하고, 팀명이 필요 없으면 team join도 하지 않는다.
+ * teamId는 member.team_id 컬럼에서 바로 읽는다.
+ */
+@Getter
+public class MemberFieldSet {
+
+  @Getter
+  @RequiredArgsConstructor
+  public enum Field {
+    MEMBER_ID("memberId", member.id, false),
+    USERNAME("username", member.username, false),
+    AGE("age", member.age, false),
+    TEAM_ID("teamId", member.team.id, false),
+    TEAM_NAME("teamName", team.name, true);
+
+    private final String name;
+    private final Expression<?> path;
+    private final boolean teamJoinRequired;
+
+    static Field of(String name) {
+      for (Field field : values()) {
+        if (field.name.equals(name)) {
+          return field;
+        }
+      }
+      throw new IllegalArgumentException("Unknown field: " + name);
+    }
+  }
+
+  private final List<Field> fields;
+
+  private MemberFieldSet(List<Field> fields) {
+    this.fields = fields;
+  }
+
+  // "memberId,username" -> [MEMBER_ID, USERNAME] (중복은 한 번만, 요청 순서 유지)
+  public static MemberFieldSet parse(String fields) {
+    Set<Field> parsed = new LinkedHashSet<>();
+    for (String name : fields.split(",")) {
+      if (!name.isBlank()) {
+        parsed.add(Field.of(name.trim()));
+      }
+    }
+    if (parsed.isEmpty()) {
+      throw new IllegalArgumentException("fields must not be empty");
+    }
+    return new MemberFieldSet(new ArrayList<>(parsed));
+  }
+
+  public Expression<?>[] expressions() {
+    return fields.stream().map(Field::getPath).toArray(Expression<?>[]::new);
+  }
+
+  public boolean isTeamJoinRequired() {
+    return fields.stream().anyMatch(Field::isTeamJoinRequired);
+  }
+}
@@ -0,0 +1,20 @@
+package study.querydsl.dto;
+
+import java.util.List;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public class MemberImportResult {
+
+  private final long rowsRead;
+  private final long imported;
+  private final long failed;
+  // 앞에서부터 최대 개수까지만 담는다. (errorsTruncated)
+  private final List<RowError> errors;
+  private final boolean errorsTruncated;
+  private final long elapsedMillis;
+
+  public record RowError(long line, String message) {}
+}
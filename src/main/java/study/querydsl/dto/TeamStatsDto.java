@@ -0,0 +1,29 @@
+package study.querydsl.dto;
+
+import com.querydsl.core.annotations.QueryProjection;
+import lombok.Data;
+
+@Data
+public class TeamStatsDto {
+
+  private Long teamId;
+  private String teamName;
+  private long memberCount;
+  private long ageSum;
+  private Double avgAge;
+  private Integer minAge;
+  private Integer maxAge;
+
+  @QueryProjection
+  public TeamStatsDto(
+      Long teamId, String teamName, long memberCount, long ageSum, Integer minAge, Integer maxAge) {
+    this.teamId = teamId;
+    this.teamName = teamName;
+    this.memberCount = memberCount;
+    this.ageSum = ageSum;
+    // 평균은 저장하지 않고 합계/개수로 계산한다. (증분 갱신이 단순해진다)
+    this.avgAge = memberCount > 0 ? (double) ageSum / memberCount : null;
+    this.minAge = minAge;
+    this.maxAge = maxAge;
+  }
+}
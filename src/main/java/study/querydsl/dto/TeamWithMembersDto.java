@@ -0,0 +1,18 @@
+package study.querydsl.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+
+@Data
+public class TeamWithMembersDto {
+
+  private Long teamId;
+  private String teamName;
+  private List<MemberDto> members = new ArrayList<>();
+
+  public TeamWithMembersDto(Long teamId, String teamName) {
+    this.teamId = teamId;
+    this.teamName = teamName;
+  }
+}
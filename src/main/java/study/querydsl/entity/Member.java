@@ -2,6 +2,7 @@ package study.querydsl.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 @Entity
 @Getter
@@ -38,8 +39,15 @@ public class Member {
     this(username, 0);
   }
 
+  // 초기화되지 않은 Team 프록시의 메서드를 호출하면 팀 조회 쿼리가 나가므로, 프록시가 초기화된 경우에만 컬렉션을 맞춰준다.
+  // 트레이드오프: 초기화되지 않은 프록시 팀의 members에는 flush 후 로딩할 때부터 새 회원이 보인다.
   public void changeTeam(Team team) {
+    if (this.team != null && Hibernate.isInitialized(this.team)) {
+      this.team.removeMember(this);
+    }
     this.team = team;
-    team.getMembers().add(this);
+    if (Hibernate.isInitialized(team)) {
+      team.addMember(this);
+    }
   }
 }
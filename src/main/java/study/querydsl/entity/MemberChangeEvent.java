@@ -0,0 +1,53 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// Member/Team 변경 이벤트 outbox
+// 변경과 같은 트랜잭션에서 JDBC로 기록하고, MemberChangeOutboxPoller가 읽어서 리스너에 전달한 뒤 삭제한다.
+// 단건 변경은 fromId == toId, 벌크 연산은 영향받은 회원 id 구간 하나당 한 row를 남긴다.
+@Entity
+@Table(name = "member_change_outbox")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class MemberChangeEvent {
+
+  public enum EntityType {
+    MEMBER,
+    TEAM
+  }
+
+  public enum ChangeType {
+    INSERT,
+    UPDATE,
+    DELETE,
+    BULK_UPDATE,
+    BULK_DELETE
+  }
+
+  // JDBC insert에서 id를 생략할 수 있도록 identity 컬럼을 사용한다.
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  private EntityType entityType;
+
+  @Enumerated(EnumType.STRING)
+  private ChangeType changeType;
+
+  private Long fromId;
+  private Long toId;
+  private LocalDateTime createdAt;
+}
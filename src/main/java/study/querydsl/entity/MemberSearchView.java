@@ -0,0 +1,38 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+// 회원 검색용 비정규화 테이블 (member + team.name)
+// 검색이 team join 없이 한 테이블만 읽도록 MemberSearchViewRepository가 같은 트랜잭션 안에서 동기화한다.
+// JPA로는 읽기만 하므로 @Immutable로 매핑한다.
+@Entity
+@Immutable
+@Table(
+    name = "member_search_view",
+    indexes = {
+      @Index(name = "idx_member_search_view_team_name_age", columnList = "team_name, age"),
+      @Index(name = "idx_member_search_view_username", columnList = "username")
+    })
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class MemberSearchView {
+
+  @Id
+  @Column(name = "member_id")
+  private Long memberId;
+
+  private String username;
+  private int age;
+  private Long teamId;
+  private String teamName;
+}
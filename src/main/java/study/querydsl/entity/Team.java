@@ -7,6 +7,7 @@ import jakarta.persistence.OneToMany;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.*;
+import org.hibernate.Hibernate;
 
 @Entity
 @Getter
@@ -24,4 +25,20 @@ public class Team {
   public Team(String name) {
     this.name = name;
   }
+
+  // 연관관계의 주인은 Member.team 이므로 members 컬렉션은 메모리 상태를 맞추기 위한 용도일 뿐이다.
+  // 초기화되지 않은 members는 inverse 컬렉션이라 Hibernate가 add를 큐에 쌓아 두었다가 로딩할 때 반영하므로,
+  // 전체 회원 목록을 로딩하지 않으면서 flush 전에도 새 회원이 보인다.
+  public void addMember(Member member) {
+    members.add(member);
+  }
+
+  // remove는 초기화되지 않은 컬렉션을 로딩하므로 초기화된 경우에만 뺀다.
+  // 트레이드오프: 컬렉션이 초기화되지 않은 팀에서 다른 팀으로 옮긴 회원은 flush 전에 이전 팀의 members를 로딩하면
+  // 그 목록에 남아 있다. (flush 후 로딩하면 DB 기준이므로 맞다)
+  public void removeMember(Member member) {
+    if (Hibernate.isInitialized(members)) {
+      members.remove(member);
+    }
+  }
 }
@@ -0,0 +1,29 @@
+package study.querydsl.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+// 팀별 집계(회원 수, 나이 합계, 최소/최대 나이)를 미리 계산해 둔 요약 테이블
+// 회원이 추가/삭제/팀 변경될 때 같은 트랜잭션 안에서 TeamStatsRepository가 증분으로 갱신한다.
+@Entity
+@Table(name = "team_stats")
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@ToString
+public class TeamStats {
+
+  @Id
+  @Column(name = "team_id")
+  private Long teamId;
+
+  private long memberCount;
+  private long ageSum;
+  private Integer minAge;
+  private Integer maxAge;
+}
@@ -0,0 +1,65 @@
+package study.querydsl.repository;
+
+import static study.querydsl.entity.QMemberChangeEvent.memberChangeEvent;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import study.querydsl.entity.MemberChangeEvent;
+import study.querydsl.entity.MemberChangeEvent.ChangeType;
+import study.querydsl.entity.MemberChangeEvent.EntityType;
+
+// 기록은 Hibernate flush 도중(이벤트 리스너)에도 호출되므로 TeamStatsRepository와 같이 JdbcTemplate을 사용한다.
+@Repository
+@RequiredArgsConstructor
+public class MemberChangeOutboxRepository {
+
+  private static final String INSERT_SQL =
+      "insert into member_change_outbox (entity_type, change_type, from_id, to_id, created_at)"
+          + " values (?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final JPAQueryFactory queryFactory;
+
+  public void append(EntityType entityType, ChangeType changeType, Long id) {
+    jdbcTemplate.update(
+        INSERT_SQL, entityType.name(), changeType.name(), id, id, LocalDateTime.now());
+  }
+
+  // 정렬된 id 목록을 연속 구간으로 묶어서 구간 하나당 한 row를 남긴다. (1,2,3,7,8 -> [1-3], [7-8])
+  public void appendRanges(EntityType entityType, ChangeType changeType, List<Long> sortedIds) {
+    if (sortedIds.isEmpty()) {
+      return;
+    }
+    LocalDateTime now = LocalDateTime.now();
+    List<Object[]> rows = new ArrayList<>();
+    long from = sortedIds.get(0);
+    long to = from;
+    for (Long id : sortedIds.subList(1, sortedIds.size())) {
+      if (id != to + 1) {
+        rows.add(new Object[] {entityType.name(), changeType.name(), from, to, now});
+        from = id;
+      }
+      to = id;
+    }
+    rows.add(new Object[] {entityType.name(), changeType.name(), from, to, now});
+    jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+  }
+
+  public List<MemberChangeEvent> findBatch(int limit) {
+    return queryFactory
+        .selectFrom(memberChangeEvent)
+        .orderBy(memberChangeEvent.id.asc())
+        .limit(limit)
+        .fetch();
+  }
+
+  public void delete(Collection<Long> ids) {
+    queryFactory.delete(memberChangeEvent).where(memberChangeEvent.id.in(ids)).execute();
+  }
+}
@@ -0,0 +1,156 @@
+package study.querydsl.repository;
+
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.MemberChangeEvent.ChangeType;
+import study.querydsl.entity.MemberChangeEvent.EntityType;
+import study.querydsl.repository.support.MemberDataVersion;
+import study.querydsl.repository.support.MemberSearchConditionNormalizer;
+import study.querydsl.repository.support.MemberSearchSql;
+
+// MemberJpaRepository.search와 같은 검색을 JDBC로 직접 실행한다.
+// JPQL 파싱, SQL 생성, 결과 변환을 거치지 않으므로 가장 많이 호출되는 조회에서 ORM 오버헤드를 줄일 수 있다.
+@Repository
+@RequiredArgsConstructor
+public class MemberJdbcRepository {
+
+  // Member.id 시퀀스(member_seq)의 allocationSize
+  private static final int ALLOCATION_SIZE = 50;
+
+  static final RowMapper<MemberTeamDto> MEMBER_TEAM_ROW_MAPPER =
+      (rs, rowNum) ->
+          new MemberTeamDto(
+              rs.getLong(1),
+              rs.getString(2),
+              rs.getInt(3),
+              rs.getObject(4, Long.class),
+              rs.getString(5));
+
+  private final JdbcTemplate jdbcTemplate;
+  private final MemberSearchConditionNormalizer conditionNormalizer;
+  private final TeamStatsRepository teamStatsRepository;
+  private final MemberSearchViewRepository searchViewRepository;
+  private final MemberChangeOutboxRepository outboxRepository;
+  private final MemberDataVersion dataVersion;
+
+  public record NewMember(String username, int age, Long teamId) {}
+
+  public List<MemberTeamDto> search(MemberSearchCondition condition) {
+    return conditionNormalizer.normalize(condition).map(this::fetchSearch).orElseGet(List::of);
+  }
+
+  // 최대 limit 행까지만 조회한다. (페이징 없는 검색에서 limit + 1 행을 읽어 결과 크기를 확인하는 용도)
+  public List<MemberTeamDto> search(MemberSearchCondition condition, long limit) {
+    return conditionNormalizer
+        .normalize(condition)
+        .map(normalized -> fetchSearch(normalized, limit))
+        .orElseGet(List::of);
+  }
+
+  // 결과가 rows 행보다 많은지 확인한다. (rows + 1번째 행 하나만 읽는다)
+  public boolean hasMoreThan(MemberSearchCondition condition, long rows) {
+    return conditionNormalizer
+        .normalize(condition)
+        .map(
+            normalized -> {
+              MemberSearchSql sql = MemberSearchSql.of(normalized);
+              List<Object> params = new ArrayList<>(sql.getParams());
+              params.add(rows);
+              return !jdbcTemplate
+                  .queryForList(sql.selectSql() + " limit 1 offset ?", params.toArray())
+                  .isEmpty();
+            })
+        .orElse(false);
+  }
+
+  // 결과를 목록으로 모으지 않고 최대 limit 행까지 한 행씩 넘긴다. (응답 스트림에 바로 쓰는 용도)
+  public void forEach(
+      MemberSearchCondition condition, long limit, Consumer<MemberTeamDto> action) {
+    conditionNormalizer
+        .normalize(condition)
+        .ifPresent(
+            normalized -> {
+              MemberSearchSql sql = MemberSearchSql.of(normalized);
+              List<Object> params = new ArrayList<>(sql.getParams());
+              params.add(limit);
+              jdbcTemplate.query(
+                  sql.selectSql() + " limit ?",
+                  (RowCallbackHandler)
+                      rs -> action.accept(MEMBER_TEAM_ROW_MAPPER.mapRow(rs, 0)),
+                  params.toArray());
+            });
+  }
+
+  // 회원을 JDBC 배치로 추가하고 추가된 id를 순서대로 돌려준다. (호출하는 쪽 트랜잭션 안에서 실행해야 한다)
+  // Hibernate 이벤트를 거치지 않으므로 벌크 연산과 같이 team_stats, member_search_view, outbox를 직접 갱신한다.
+  public List<Long> insertAll(List<NewMember> members) {
+    if (members.isEmpty()) {
+      return List.of();
+    }
+    List<Long> ids = allocateIds(members.size());
+    List<Object[]> rows = new ArrayList<>(members.size());
+    Map<Long, IntSummaryStatistics> teamAges = new HashMap<>();
+    for (int i = 0; i < members.size(); i++) {
+      NewMember member = members.get(i);
+      rows.add(new Object[] {ids.get(i), member.username(), member.age(), member.teamId()});
+      if (member.teamId() != null) {
+        teamAges
+            .computeIfAbsent(member.teamId(), teamId -> new IntSummaryStatistics())
+            .accept(member.age());
+      }
+    }
+    jdbcTemplate.batchUpdate(
+        "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+        rows,
+        new int[] {Types.BIGINT, Types.VARCHAR, Types.INTEGER, Types.BIGINT});
+
+    teamAges.forEach(
+        (teamId, ages) ->
+            teamStatsRepository.membersAdded(
+                teamId, ages.getCount(), ages.getSum(), ages.getMin(), ages.getMax()));
+    searchViewRepository.refresh(ids);
+    outboxRepository.appendRanges(EntityType.MEMBER, ChangeType.INSERT, ids);
+    dataVersion.changed();
+    return ids;
+  }
+
+  // Hibernate pooled 옵티마이저와 같은 방식으로 member_seq 값 하나당 (값 - ALLOCATION_SIZE, 값] 구간의 id를 쓴다.
+  // 그래서 JPA로 저장하는 회원과 id가 겹치지 않는다.
+  // 첫 값(1)은 구간이 (-49, 1]이므로 Hibernate처럼 1만 쓰고 다음 값을 다시 받는다. (0 이하 id는 만들지 않는다)
+  List<Long> allocateIds(int count) {
+    List<Long> ids = new ArrayList<>(count);
+    while (ids.size() < count) {
+      long hi = jdbcTemplate.queryForObject("select next value for member_seq", Long.class);
+      long lo = Math.max(1, hi - ALLOCATION_SIZE + 1);
+      for (long id = lo; id <= hi && ids.size() < count; id++) {
+        ids.add(id);
+      }
+    }
+    return ids;
+  }
+
+  private List<MemberTeamDto> fetchSearch(MemberSearchCondition condition) {
+    MemberSearchSql sql = MemberSearchSql.of(condition);
+    return jdbcTemplate.query(sql.selectSql(), MEMBER_TEAM_ROW_MAPPER, sql.getParams().toArray());
+  }
+
+  private List<MemberTeamDto> fetchSearch(MemberSearchCondition condition, long limit) {
+    MemberSearchSql sql = MemberSearchSql.of(condition);
+    List<Object> params = new ArrayList<>(sql.getParams());
+    params.add(limit);
+    return jdbcTemplate.query(
+        sql.selectSql() + " limit ?", MEMBER_TEAM_ROW_MAPPER, params.toArray());
+  }
+}
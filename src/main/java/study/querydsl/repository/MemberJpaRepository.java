@@ -5,24 +5,53 @@ import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
 import com.querydsl.core.BooleanBuilder;
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.JPAExpressions;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberFieldRow;
+import study.querydsl.dto.MemberFieldSet;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
 import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberChangeEvent.ChangeType;
+import study.querydsl.entity.MemberChangeEvent.EntityType;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberDataVersion;
+import study.querydsl.repository.support.MemberSearchConditionNormalizer;
+import study.querydsl.repository.support.RepositoryCallEvent;
 
 @Repository
 @RequiredArgsConstructor
 public class MemberJpaRepository {
 
+  private static final int MAX_IN_LIST_SIZE = 512;
+
   private final EntityManager em;
   private final JPAQueryFactory queryFactory;
+  private final TeamStatsRepository teamStatsRepository;
+  private final MemberSearchConditionNormalizer conditionNormalizer;
+  private final MemberChangeOutboxRepository outboxRepository;
+  private final MemberSearchViewRepository searchViewRepository;
+  private final MemberDataVersion dataVersion;
 
   public void save(Member member) {
     em.persist(member);
@@ -33,6 +62,88 @@ public class MemberJpaRepository {
     return Optional.ofNullable(member);
   }
 
+  // 여러 id를 한 번에 조회한다. 결과는 입력 순서(중복 제거)를 따르고 없는 id는 빠진다.
+  // 1) 영속성 컨텍스트에 있는 회원은 쿼리 없이 만들고
+  // 2) 나머지는 IN 절을 최대 MAX_IN_LIST_SIZE개로 나눠서 조회한다.
+  //    hibernate.query.in_clause_parameter_padding 설정으로 IN 절 파라미터가 2의 거듭제곱 개수로 채워지므로
+  //    Hibernate 쿼리 플랜 캐시와 DB 실행 계획을 재사용할 수 있다.
+  // 영속성 컨텍스트를 직접 들여다보므로 트랜잭션 밖(서비스, 배치)에서 호출해도 EntityManager가 바인딩되도록 트랜잭션을 연다.
+  @Transactional(readOnly = true)
+  public List<MemberTeamDto> findAllByIds(Collection<Long> ids) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.findAllByIds", "ids", () -> loadAllByIds(ids));
+  }
+
+  private List<MemberTeamDto> loadAllByIds(Collection<Long> ids) {
+    Set<Long> uniqueIds = new LinkedHashSet<>(ids);
+    uniqueIds.remove(null);
+
+    Map<Long, MemberTeamDto> found = new HashMap<>();
+    List<Long> remaining = new ArrayList<>();
+    for (Long id : uniqueIds) {
+      MemberTeamDto dto = findInMemory(id);
+      if (dto != null) {
+        found.put(id, dto);
+      } else {
+        remaining.add(id);
+      }
+    }
+
+    for (int from = 0; from < remaining.size(); from += MAX_IN_LIST_SIZE) {
+      int to = Math.min(from + MAX_IN_LIST_SIZE, remaining.size());
+      List<Long> chunk = remaining.subList(from, to);
+      queryFactory
+          .select(
+              new QMemberTeamDto(
+                  member.id,
+                  member.username,
+                  member.age,
+                  team.id.as("teamId"),
+                  team.name.as("teamName")))
+          .from(member)
+          .leftJoin(member.team, team)
+          .where(member.id.in(chunk))
+          .fetch()
+          .forEach(dto -> found.put(dto.getMemberId(), dto));
+    }
+
+    List<MemberTeamDto> result = new ArrayList<>(found.size());
+    for (Long id : uniqueIds) {
+      MemberTeamDto dto = found.get(id);
+      if (dto != null) {
+        result.add(dto);
+      }
+    }
+    return result;
+  }
+
+  // 영속성 컨텍스트에 있는 회원이면 DB 조회 없이 DTO를 만든다.
+  // 팀이 초기화되지 않은 프록시라면 팀명을 읽을 때 쿼리가 나가므로 DB 조회 대상으로 넘긴다.
+  private MemberTeamDto findInMemory(Long id) {
+    SessionImplementor session = em.unwrap(SessionImplementor.class);
+    EntityPersister persister =
+        session.getFactory().getMappingMetamodel().getEntityDescriptor(Member.class);
+    Member findMember =
+        (Member)
+            session
+                .getPersistenceContextInternal()
+                .getEntity(session.generateEntityKey(id, persister));
+    if (findMember == null) {
+      return null;
+    }
+
+    Team findTeam = findMember.getTeam();
+    if (findTeam != null && !Hibernate.isInitialized(findTeam)) {
+      return null;
+    }
+    return new MemberTeamDto(
+        findMember.getId(),
+        findMember.getUsername(),
+        findMember.getAge(),
+        findTeam != null ? findTeam.getId() : null,
+        findTeam != null ? findTeam.getName() : null);
+  }
+
   public List<Member> findAll_Querydsl() {
     return queryFactory.selectFrom(member).fetch();
   }
@@ -52,6 +163,14 @@ public class MemberJpaRepository {
   }
 
   public List<MemberTeamDto> searchByBuilder(MemberSearchCondition condition) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.searchByBuilder",
+        RepositoryCallEvent.shapeOf(condition),
+        () ->
+            conditionNormalizer.normalize(condition).map(this::fetchByBuilder).orElseGet(List::of));
+  }
+
+  private List<MemberTeamDto> fetchByBuilder(MemberSearchCondition condition) {
     BooleanBuilder builder = new BooleanBuilder();
     // null이 들어오면 조건을 무시하도록 처리
     if (hasText(condition.getUsername())) {
@@ -77,7 +196,39 @@ public class MemberJpaRepository {
         .fetch();
   }
 
+  // 결과가 없을 것이 확실한 조건이면 DB를 조회하지 않는다.
   public List<MemberTeamDto> search(MemberSearchCondition condition) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.search",
+        RepositoryCallEvent.shapeOf(condition),
+        () -> conditionNormalizer.normalize(condition).map(this::fetchSearch).orElseGet(List::of));
+  }
+
+  // 호출하는 쪽에서 이미 정규화한 조건(MemberSearchConditionNormalizer.normalize 결과)으로 최대 limit 행까지 조회한다.
+  public List<MemberTeamDto> searchNormalized(MemberSearchCondition normalized, long limit) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.search",
+        RepositoryCallEvent.shapeOf(normalized),
+        () -> searchQuery(normalized).limit(limit).fetch());
+  }
+
+  // 최대 limit 행까지만 조회한다. (페이징 없는 검색에서 limit + 1 행을 읽어 결과 크기를 확인하는 용도)
+  public List<MemberTeamDto> search(MemberSearchCondition condition, long limit) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.search",
+        RepositoryCallEvent.shapeOf(condition),
+        () ->
+            conditionNormalizer
+                .normalize(condition)
+                .map(normalized -> searchQuery(normalized).limit(limit).fetch())
+                .orElseGet(List::of));
+  }
+
+  private List<MemberTeamDto> fetchSearch(MemberSearchCondition condition) {
+    return searchQuery(condition).fetch();
+  }
+
+  private JPAQuery<MemberTeamDto> searchQuery(MemberSearchCondition condition) {
     return queryFactory
         .select(
             new QMemberTeamDto(
@@ -92,8 +243,131 @@ public class MemberJpaRepository {
             usernameEq(condition.getUsername()),
             teamNameEq(condition.getTeamName()),
             ageGoe(condition.getAgeGoe()),
-            ageLoe(condition.getAgeLoe()))
-        .fetch();
+            ageLoe(condition.getAgeLoe()));
+  }
+
+  // fields 파라미터로 요청한 컬럼만 조회한다.
+  public List<MemberFieldRow> searchFields(
+      MemberSearchCondition condition, MemberFieldSet fieldSet) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.searchFields",
+        RepositoryCallEvent.shapeOf(condition),
+        () ->
+            conditionNormalizer
+                .normalize(condition)
+                .map(normalized -> fetchFields(normalized, fieldSet, null))
+                .orElseGet(List::of));
+  }
+
+  // 최대 limit 행까지만 조회한다.
+  public List<MemberFieldRow> searchFields(
+      MemberSearchCondition condition, MemberFieldSet fieldSet, long limit) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.searchFields",
+        RepositoryCallEvent.shapeOf(condition),
+        () ->
+            conditionNormalizer
+                .normalize(condition)
+                .map(normalized -> fetchFields(normalized, fieldSet, limit))
+                .orElseGet(List::of));
+  }
+
+  private List<MemberFieldRow> fetchFields(
+      MemberSearchCondition condition, MemberFieldSet fieldSet, Long limit) {
+    JPAQuery<Tuple> query = queryFactory.select(fieldSet.expressions()).from(member);
+    // 팀명 컬럼이나 팀명 조건이 없으면 team join을 하지 않는다.
+    if (fieldSet.isTeamJoinRequired() || condition.getTeamName() != null) {
+      query.leftJoin(member.team, team);
+    }
+    query.where(
+        usernameEq(condition.getUsername()),
+        teamNameEq(condition.getTeamName()),
+        ageGoe(condition.getAgeGoe()),
+        ageLoe(condition.getAgeLoe()));
+    if (limit != null) {
+      query.limit(limit);
+    }
+    return query.fetch().stream().map(tuple -> new MemberFieldRow(fieldSet, tuple)).toList();
+  }
+
+  // 벌크 연산은 영속성 컨텍스트와 Hibernate 이벤트를 거치지 않으므로 영향받는 회원/팀을 먼저 구해두고
+  // 같은 트랜잭션에서 team_stats, member_search_view를 다시 계산하고 변경 이벤트를 outbox에 기록한다.
+  public long bulkAddAge(MemberSearchCondition condition, int amount) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.bulkAddAge",
+        RepositoryCallEvent.shapeOf(condition),
+        () -> executeBulkAddAge(condition, amount));
+  }
+
+  public long bulkDelete(MemberSearchCondition condition) {
+    return RepositoryCallEvent.record(
+        "MemberJpaRepository.bulkDelete",
+        RepositoryCallEvent.shapeOf(condition),
+        () -> executeBulkDelete(condition));
+  }
+
+  private long executeBulkAddAge(MemberSearchCondition condition, int amount) {
+    AffectedMembers affected = affectedMembers(condition);
+    long count =
+        queryFactory
+            .update(member)
+            .set(member.age, member.age.add(amount))
+            .where(bulkWhere(condition))
+            .execute();
+    afterBulk(affected, ChangeType.BULK_UPDATE);
+    return count;
+  }
+
+  private long executeBulkDelete(MemberSearchCondition condition) {
+    AffectedMembers affected = affectedMembers(condition);
+    long count = queryFactory.delete(member).where(bulkWhere(condition)).execute();
+    afterBulk(affected, ChangeType.BULK_DELETE);
+    return count;
+  }
+
+  private AffectedMembers affectedMembers(MemberSearchCondition condition) {
+    List<Tuple> rows =
+        queryFactory
+            .select(member.id, member.team.id)
+            .from(member)
+            .where(bulkWhere(condition))
+            .orderBy(member.id.asc())
+            .fetch();
+    List<Long> memberIds = rows.stream().map(row -> row.get(member.id)).toList();
+    List<Long> teamIds =
+        rows.stream()
+            .map(row -> row.get(member.team.id))
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+    return new AffectedMembers(memberIds, teamIds);
+  }
+
+  private void afterBulk(AffectedMembers affected, ChangeType changeType) {
+    teamStatsRepository.recalculate(affected.teamIds());
+    outboxRepository.appendRanges(EntityType.MEMBER, changeType, affected.memberIds());
+    searchViewRepository.refresh(affected.memberIds());
+    dataVersion.changed();
+    // 벌크 연산 결과가 영속성 컨텍스트에 반영되지 않으므로 초기화한다.
+    em.clear();
+  }
+
+  private record AffectedMembers(List<Long> memberIds, List<Long> teamIds) {}
+
+  // update/delete 절에서는 join을 쓸 수 없으므로 팀명 조건은 서브쿼리로 처리한다.
+  private BooleanExpression[] bulkWhere(MemberSearchCondition condition) {
+    return new BooleanExpression[] {
+      usernameEq(condition.getUsername()),
+      teamNameIn(condition.getTeamName()),
+      ageGoe(condition.getAgeGoe()),
+      ageLoe(condition.getAgeLoe())
+    };
+  }
+
+  private BooleanExpression teamNameIn(String teamName) {
+    return hasText(teamName)
+        ? member.team.id.in(JPAExpressions.select(team.id).from(team).where(team.name.eq(teamName)))
+        : null;
   }
 
   private BooleanExpression ageBetween(int ageLoe, int ageGoe) {
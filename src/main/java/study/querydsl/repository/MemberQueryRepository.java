@@ -4,14 +4,24 @@ import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
 import static study.querydsl.entity.QTeam.team;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
+import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Repository;
+import study.querydsl.dto.MemberDto;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.dto.TeamWithMembersDto;
 
 // 특정 API나 공용으로 쓰이지 않을것같은 특화된 경우에는
 // 이렇게 분리해서 별도의 Repository를 만들어서 사용하는 것도 좋은 방법이다.
@@ -43,6 +53,57 @@ public class MemberQueryRepository {
         .fetch();
   }
 
+  // 팀 단위 페이징 + 팀별 회원 목록
+  // 컬렉션 fetch join은 row가 중복되고 메모리에서 페이징하므로, 1) 팀 id만 페이징해서 구하고 2) 해당 팀들의 회원을
+  // team.id, member.id 순으로 정렬한 평평한 row로 조회한 뒤 스트림을 한 번 훑으면서 팀 단위로 묶는다.
+  public Page<TeamWithMembersDto> findTeamsWithMembers(Pageable pageable) {
+    List<Long> teamIds =
+        queryFactory
+            .select(team.id)
+            .from(team)
+            .orderBy(team.id.asc())
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .fetch();
+
+    List<TeamWithMembersDto> content =
+        teamIds.isEmpty() ? List.of() : fetchTeamsWithMembers(teamIds);
+
+    JPAQuery<Long> countQuery = queryFactory.select(team.count()).from(team);
+    return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+  }
+
+  private List<TeamWithMembersDto> fetchTeamsWithMembers(List<Long> teamIds) {
+    JPAQuery<Tuple> query =
+        queryFactory
+            .select(team.id, team.name, member.id, member.username, member.age)
+            .from(team)
+            .leftJoin(team.members, member)
+            .where(team.id.in(teamIds))
+            .orderBy(team.id.asc(), member.id.asc());
+
+    List<TeamWithMembersDto> result = new ArrayList<>(teamIds.size());
+    // 결과를 리스트로 모으지 않고 Tuple 스트림을 한 번 훑는다. 정렬되어 있으므로 직전 팀과 id가 다를 때만 새 팀을 만든다.
+    try (Stream<Tuple> rows = query.stream()) {
+      TeamWithMembersDto current = null;
+      for (Iterator<Tuple> it = rows.iterator(); it.hasNext(); ) {
+        Tuple row = it.next();
+        Long teamId = row.get(team.id);
+        if (current == null || !current.getTeamId().equals(teamId)) {
+          current = new TeamWithMembersDto(teamId, row.get(team.name));
+          result.add(current);
+        }
+        // 회원이 없는 팀은 left join 결과로 member 컬럼이 모두 null인 row 하나가 나온다.
+        if (row.get(member.id) != null) {
+          current
+              .getMembers()
+              .add(new MemberDto(row.get(member.username), row.get(member.age)));
+        }
+      }
+    }
+    return result;
+  }
+
   private BooleanExpression usernameEq(String username) {
     return hasText(username) ? member.username.eq(username) : null;
   }
@@ -0,0 +1,112 @@
+package study.querydsl.repository;
+
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.MemberSearchConditionNormalizer;
+import study.querydsl.repository.support.MemberSearchSql;
+
+// MemberRepositoryImpl.search/searchPageComplex와 같은 조건의 검색을 R2DBC로 실행한다.
+// row를 구독자가 요청한 만큼만 읽으므로(back-pressure) 적은 스레드로 많은 요청을 처리할 수 있다.
+// 조건은 JPA 경로와 같이 MemberSearchConditionNormalizer로 정규화하고, 결과가 없을 조건이면 쿼리를 실행하지 않는다.
+@Repository
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "member.reactive.enabled", havingValue = "true")
+public class MemberReactiveRepository {
+
+  private final DatabaseClient databaseClient;
+  private final MemberSearchConditionNormalizer conditionNormalizer;
+
+  public Flux<MemberTeamDto> search(MemberSearchCondition condition) {
+    return normalize(condition).flatMapMany(this::fetchSearch);
+  }
+
+  private Flux<MemberTeamDto> fetchSearch(MemberSearchCondition condition) {
+    MemberSearchSql sql = MemberSearchSql.of(condition, MemberReactiveRepository::bindMarker);
+    return bind(databaseClient.sql(sql.selectSql()), sql.getParams())
+        .map(MemberReactiveRepository::toDto)
+        .all();
+  }
+
+  public Mono<Page<MemberTeamDto>> searchPageComplex(
+      MemberSearchCondition condition, Pageable pageable) {
+    return normalize(condition)
+        .flatMap(normalized -> fetchPageComplex(normalized, pageable))
+        .defaultIfEmpty(Page.empty(pageable));
+  }
+
+  private Mono<Page<MemberTeamDto>> fetchPageComplex(
+      MemberSearchCondition condition, Pageable pageable) {
+    MemberSearchSql sql = MemberSearchSql.of(condition, MemberReactiveRepository::bindMarker);
+    int limitIndex = sql.getParams().size();
+    String pageSql =
+        sql.selectSql()
+            + (" limit " + bindMarker(limitIndex))
+            + (" offset " + bindMarker(limitIndex + 1));
+    Mono<List<MemberTeamDto>> content =
+        bind(databaseClient.sql(pageSql), sql.getParams())
+            .bind(limitIndex, pageable.getPageSize())
+            .bind(limitIndex + 1, pageable.getOffset())
+            .map(MemberReactiveRepository::toDto)
+            .all()
+            .collectList();
+
+    Mono<Long> count =
+        bind(databaseClient.sql(sql.countSql()), sql.getParams())
+            .map((row, metadata) -> row.get(0, Long.class))
+            .one();
+
+    // PageableExecutionUtils.getPage와 같은 규칙으로 필요할 때만 count 쿼리를 실행한다.
+    return content.flatMap(
+        list -> {
+          if (pageable.getOffset() == 0 && list.size() < pageable.getPageSize()) {
+            return Mono.just(new PageImpl<>(list, pageable, list.size()));
+          }
+          if (!list.isEmpty() && list.size() < pageable.getPageSize()) {
+            return Mono.just(new PageImpl<>(list, pageable, pageable.getOffset() + list.size()));
+          }
+          return count.map(total -> new PageImpl<>(list, pageable, total));
+        });
+  }
+
+  // 팀명 확인은 블로킹 JDBC 쿼리일 수 있으므로 이벤트 루프가 아닌 boundedElastic 스레드에서 실행한다.
+  private Mono<MemberSearchCondition> normalize(MemberSearchCondition condition) {
+    return Mono.fromCallable(() -> conditionNormalizer.normalize(condition))
+        .subscribeOn(Schedulers.boundedElastic())
+        .mapNotNull(normalized -> normalized.orElse(null));
+  }
+
+  private static GenericExecuteSpec bind(GenericExecuteSpec spec, List<Object> params) {
+    for (int i = 0; i < params.size(); i++) {
+      spec = spec.bind(i, params.get(i));
+    }
+    return spec;
+  }
+
+  private static MemberTeamDto toDto(Row row, RowMetadata metadata) {
+    return new MemberTeamDto(
+        row.get(0, Long.class),
+        row.get(1, String.class),
+        row.get(2, Integer.class),
+        row.get(3, Long.class),
+        row.get(4, String.class));
+  }
+
+  // H2 R2DBC 드라이버의 바인드 마커는 $1, $2 ...
+  private static String bindMarker(int index) {
+    return "$" + (index + 1);
+  }
+}
@@ -3,6 +3,8 @@ package study.querydsl.repository;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import study.querydsl.dto.MemberFieldRow;
+import study.querydsl.dto.MemberFieldSet;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 
@@ -14,4 +16,8 @@ public interface MemberRepositoryCustom {
   // totalCount를 구하는 쿼리를 최적화해서 구현해야 한다.
 
   Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable);
+
+  // fields 파라미터로 요청한 컬럼만 조회하는 페이징
+  Page<MemberFieldRow> searchPageFields(
+      MemberSearchCondition condition, MemberFieldSet fieldSet, Pageable pageable);
 }
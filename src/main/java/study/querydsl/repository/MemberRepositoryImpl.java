@@ -2,8 +2,10 @@ package study.querydsl.repository;
 
 import static org.springframework.util.StringUtils.hasText;
 import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QMemberSearchView.memberSearchView;
 import static study.querydsl.entity.QTeam.team;
 
+import com.querydsl.core.Tuple;
 import com.querydsl.core.types.dsl.BooleanExpression;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
@@ -12,15 +14,26 @@ import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.support.PageableExecutionUtils;
+import study.querydsl.dto.MemberFieldRow;
+import study.querydsl.dto.MemberFieldSet;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.dto.QMemberTeamDto;
+import study.querydsl.repository.support.MemberSearchConditionNormalizer;
+import study.querydsl.repository.support.RepositoryCallEvent;
 
 public class MemberRepositoryImpl implements MemberRepositoryCustom {
   private final JPAQueryFactory queryFactory;
+  private final MemberSearchConditionNormalizer conditionNormalizer;
+  private final MemberSearchViewRepository searchViewRepository;
 
-  public MemberRepositoryImpl(EntityManager em) {
+  public MemberRepositoryImpl(
+      EntityManager em,
+      MemberSearchConditionNormalizer conditionNormalizer,
+      MemberSearchViewRepository searchViewRepository) {
     this.queryFactory = new JPAQueryFactory(em);
+    this.conditionNormalizer = conditionNormalizer;
+    this.searchViewRepository = searchViewRepository;
   }
 
   private JPAQuery<Long> getTotal(MemberSearchCondition condition) {
@@ -39,7 +52,18 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
     return result;
   }
 
-  public List<MemberTeamDto> search(MemberSearchCondition conditionition) {
+  public List<MemberTeamDto> search(MemberSearchCondition condition) {
+    // 결과가 없을 것이 확실한 조건이면 DB를 조회하지 않는다.
+    return RepositoryCallEvent.record(
+        "MemberRepositoryImpl.search",
+        RepositoryCallEvent.shapeOf(condition),
+        () -> conditionNormalizer.normalize(condition).map(this::fetchSearch).orElseGet(List::of));
+  }
+
+  private List<MemberTeamDto> fetchSearch(MemberSearchCondition conditionition) {
+    if (searchViewRepository.isEnabled()) {
+      return viewQuery(conditionition).fetch();
+    }
     return queryFactory
         .select(
             new QMemberTeamDto(
@@ -60,17 +84,39 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
 
   @Override
   public Page<MemberTeamDto> searchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+    // 결과가 없을 것이 확실한 조건이면 content/count 쿼리 모두 실행하지 않는다.
+    return RepositoryCallEvent.record(
+        "MemberRepositoryImpl.searchPageComplex",
+        RepositoryCallEvent.shapeOf(condition),
+        () ->
+            conditionNormalizer
+                .normalize(condition)
+                .map(normalized -> fetchPageComplex(normalized, pageable))
+                .orElseGet(() -> Page.empty(pageable)));
+  }
+
+  private Page<MemberTeamDto> fetchPageComplex(MemberSearchCondition condition, Pageable pageable) {
+    if (searchViewRepository.isEnabled()) {
+      return fetchPageFromView(condition, pageable);
+    }
+
     // 데이터 조회 쿼리 (페이징 적용)
     List<MemberTeamDto> content = getMemberTeamDtos(condition, pageable);
 
     // count 쿼리 (조건에 부합하는 로우의 총 개수를 얻는 것이기 때에 페이징 미적용)
     JPAQuery<Long> countQuery = getTotal(condition);
+    String shape = RepositoryCallEvent.shapeOf(condition);
 
     // getPage에서 컨텐츠 사이즈가 0이면 countQuery를 실행하지 않는다.
     // 컨텐츠 사이즈가 페이지사이즈보다 작거나 마지막 페이지거나 이러면 count query 호출안함
     // 이걸쓰면 된다는말~~Spring data JPA가 제공하는 기능이다.
     // 여기서 판단한다.
-    return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+    return PageableExecutionUtils.getPage(
+        content,
+        pageable,
+        () ->
+            RepositoryCallEvent.record(
+                "MemberRepositoryImpl.getTotal", shape, countQuery::fetchOne));
   }
 
   private List<MemberTeamDto> getMemberTeamDtos(
@@ -95,6 +141,90 @@ public class MemberRepositoryImpl implements MemberRepositoryCustom {
         .fetch();
   }
 
+  // member.search.read-model=view 이면 member_search_view 한 테이블만 읽는다. (team join 없음)
+  private Page<MemberTeamDto> fetchPageFromView(
+      MemberSearchCondition condition, Pageable pageable) {
+    List<MemberTeamDto> content =
+        viewQuery(condition).offset(pageable.getOffset()).limit(pageable.getPageSize()).fetch();
+    JPAQuery<Long> countQuery =
+        queryFactory
+            .select(memberSearchView.count())
+            .from(memberSearchView)
+            .where(viewWhere(condition));
+    return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+  }
+
+  private JPAQuery<MemberTeamDto> viewQuery(MemberSearchCondition condition) {
+    return queryFactory
+        .select(
+            new QMemberTeamDto(
+                memberSearchView.memberId,
+                memberSearchView.username,
+                memberSearchView.age,
+                memberSearchView.teamId,
+                memberSearchView.teamName))
+        .from(memberSearchView)
+        .where(viewWhere(condition));
+  }
+
+  private BooleanExpression[] viewWhere(MemberSearchCondition condition) {
+    return new BooleanExpression[] {
+      hasText(condition.getUsername())
+          ? memberSearchView.username.eq(condition.getUsername())
+          : null,
+      hasText(condition.getTeamName())
+          ? memberSearchView.teamName.eq(condition.getTeamName())
+          : null,
+      condition.getAgeGoe() != null ? memberSearchView.age.goe(condition.getAgeGoe()) : null,
+      condition.getAgeLoe() != null ? memberSearchView.age.loe(condition.getAgeLoe()) : null
+    };
+  }
+
+  @Override
+  public Page<MemberFieldRow> searchPageFields(
+      MemberSearchCondition condition, MemberFieldSet fieldSet, Pageable pageable) {
+    return conditionNormalizer
+        .normalize(condition)
+        .map(normalized -> fetchPageFields(normalized, fieldSet, pageable))
+        .orElseGet(() -> Page.empty(pageable));
+  }
+
+  private Page<MemberFieldRow> fetchPageFields(
+      MemberSearchCondition condition, MemberFieldSet fieldSet, Pageable pageable) {
+    // 팀명 컬럼이나 팀명 조건이 없으면 content/count 쿼리 모두 team join을 하지 않는다.
+    boolean teamFilter = condition.getTeamName() != null;
+
+    JPAQuery<Tuple> contentQuery = queryFactory.select(fieldSet.expressions()).from(member);
+    if (fieldSet.isTeamJoinRequired() || teamFilter) {
+      contentQuery.leftJoin(member.team, team);
+    }
+    List<MemberFieldRow> content =
+        contentQuery
+            .where(
+                usernameEq(condition.getUsername()),
+                teamNameEq(condition.getTeamName()),
+                ageGoe(condition.getAgeGoe()),
+                ageLoe(condition.getAgeLoe()))
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .fetch()
+            .stream()
+            .map(tuple -> new MemberFieldRow(fieldSet, tuple))
+            .toList();
+
+    JPAQuery<Long> countQuery = queryFactory.select(member.count()).from(member);
+    if (teamFilter) {
+      countQuery.leftJoin(member.team, team);
+    }
+    countQuery.where(
+        usernameEq(condition.getUsername()),
+        teamNameEq(condition.getTeamName()),
+        ageGoe(condition.getAgeGoe()),
+        ageLoe(condition.getAgeLoe()));
+
+    return PageableExecutionUtils.getPage(content, pageable, countQuery::fetchOne);
+  }
+
   private BooleanExpression usernameEq(String username) {
     return hasText(username) ? member.username.eq(username) : null;
   }
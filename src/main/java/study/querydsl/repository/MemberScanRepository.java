@@ -0,0 +1,72 @@
+package study.querydsl.repository;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.query.SelectionQuery;
+import org.springframework.stereotype.Repository;
+import study.querydsl.entity.Member;
+
+/**
+ * 전체 회원을 대상으로 하는 배치/내보내기용 조회
+ *
+ * <p>StatelessSession은 영속성 컨텍스트(1차 캐시, 스냅샷, 지연 로딩 프록시)를 만들지 않으므로 회원 수가 많아도 힙이 늘어나지 않는다.
+ * forward-only 커서로 fetchSize 만큼씩 읽고, chunkSize 단위로 콜백에 넘긴다. 콜백에 넘어온 회원은 준영속 상태이며 팀은 fetch
+ * join으로 함께 읽어 둔다.
+ *
+ * <p>별도의 커넥션과 트랜잭션에서 실행되므로 호출한 쪽 트랜잭션에서 flush 하지 않은 변경은 보이지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberScanRepository {
+
+  public static final int DEFAULT_FETCH_SIZE = 1000;
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  public long scanAll(Consumer<List<Member>> chunkConsumer) {
+    return scanAll(DEFAULT_FETCH_SIZE, DEFAULT_FETCH_SIZE, chunkConsumer);
+  }
+
+  public long scanAll(int fetchSize, int chunkSize, Consumer<List<Member>> chunkConsumer) {
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      Transaction tx = session.beginTransaction();
+      try (ScrollableResults<Member> results =
+          scanQuery(session, fetchSize).scroll(ScrollMode.FORWARD_ONLY)) {
+        long count = 0;
+        List<Member> chunk = new ArrayList<>(chunkSize);
+        while (results.next()) {
+          chunk.add(results.get());
+          count++;
+          if (chunk.size() == chunkSize) {
+            chunkConsumer.accept(chunk);
+            chunk = new ArrayList<>(chunkSize);
+          }
+        }
+        if (!chunk.isEmpty()) {
+          chunkConsumer.accept(chunk);
+        }
+        tx.commit();
+        return count;
+      } catch (RuntimeException e) {
+        tx.rollback();
+        throw e;
+      }
+    }
+  }
+
+  SelectionQuery<Member> scanQuery(StatelessSession session, int fetchSize) {
+    return session
+        .createSelectionQuery(
+            "select m from Member m left join fetch m.team order by m.id", Member.class)
+        .setFetchSize(fetchSize);
+  }
+}
@@ -0,0 +1,88 @@
+package study.querydsl.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+// member_search_view 읽기 모델 관리
+// member.search.read-model=view 일 때만 유지하고, 아니면 모든 갱신 메서드가 아무 일도 하지 않는다.
+// TeamStatsRepository와 같은 이유로(flush 도중 호출) JdbcTemplate을 사용한다.
+@Repository
+public class MemberSearchViewRepository {
+
+  private static final String INSERT_SELECT =
+      "insert into member_search_view (member_id, username, age, team_id, team_name)"
+          + " select m.member_id, m.username, m.age, t.id, t.name"
+          + " from member m left join team t on t.id = m.team_id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final boolean enabled;
+
+  public MemberSearchViewRepository(
+      JdbcTemplate jdbcTemplate,
+      NamedParameterJdbcTemplate namedJdbcTemplate,
+      @Value("${member.search.read-model:join}") String readModel) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.namedJdbcTemplate = namedJdbcTemplate;
+    this.enabled = "view".equals(readModel);
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  // 회원 행을 member/team에서 다시 읽어서 덮어쓴다. 삭제된 회원은 행이 지워진다.
+  public void refresh(Collection<Long> memberIds) {
+    if (!enabled || memberIds.isEmpty()) {
+      return;
+    }
+    Map<String, Object> params = Map.of("memberIds", memberIds);
+    namedJdbcTemplate.update(
+        "delete from member_search_view where member_id in (:memberIds)", params);
+    namedJdbcTemplate.update(INSERT_SELECT + " where m.member_id in (:memberIds)", params);
+  }
+
+  public void delete(Long memberId) {
+    if (enabled) {
+      jdbcTemplate.update("delete from member_search_view where member_id = ?", memberId);
+    }
+  }
+
+  // 팀명이 바뀌면 그 팀 회원 행의 team_name만 바꾼다. (member 테이블은 읽지 않는다)
+  public void teamRenamed(Long teamId, String name) {
+    if (enabled) {
+      jdbcTemplate.update(
+          "update member_search_view set team_name = ? where team_id = ?", name, teamId);
+    }
+  }
+
+  public void teamDeleted(Long teamId) {
+    if (enabled) {
+      jdbcTemplate.update(
+          "update member_search_view set team_id = null, team_name = null where team_id = ?",
+          teamId);
+    }
+  }
+
+  // 전체를 다시 만든다. (기존 데이터가 있는 DB에서 읽기 모델을 처음 켤 때, 벌크 import 이후 등)
+  @Transactional
+  public void rebuild() {
+    if (enabled) {
+      jdbcTemplate.update("delete from member_search_view");
+      jdbcTemplate.update(INSERT_SELECT);
+    }
+  }
+
+  @Transactional
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuildOnStartup() {
+    rebuild();
+  }
+}
@@ -0,0 +1,484 @@
+package study.querydsl.repository;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.repository.support.MemberDataVersion;
+
+/**
+ * member/team 스냅샷 파일 내보내기/복원 (테스트, 스테이징 환경 재구성과 벤치마크 데이터용)
+ *
+ * <p>파일은 컬럼 단위로 저장하고 NIO 메모리 매핑 버퍼로 읽고 쓴다. (리틀 엔디언)
+ *
+ * <pre>
+ * header: magic, version, teamCount, memberCount (int), teamNameBytes, usernameBytes (long)
+ * team:   id long[], name null 비트맵, name 끝 오프셋 int[n+1], name UTF-8 바이트
+ * member: id long[], age int[], teamId long[] (-1 = 팀 없음),
+ *         username null 비트맵, username 끝 오프셋 int[n+1], username UTF-8 바이트
+ * </pre>
+ *
+ * <p>복원은 JPA를 거치지 않고 JDBC 배치로 넣은 뒤 시퀀스, team_stats, member_search_view를 다시 맞춘다. Hibernate
+ * 이벤트가 발생하지 않으므로 outbox에는 기록되지 않는다. 문자열 컬럼 하나가 2GB를 넘는 파일은 지원하지 않는다.
+ *
+ * <p>트랜잭션 하나가 전체 행의 undo 로그와 락을 쥐고 있지 않도록 배치(BATCH_SIZE 행)마다 커밋한다. 그래서 복원하는 동안에는
+ * 일부만 들어간 상태가 다른 트랜잭션에 보인다. 도중에 실패하면 이미 커밋한 행을 지운다. (replace=true면 member/team을 비운다)
+ *
+ * <p>시퀀스를 다시 시작해도 이 JVM의 Hibernate pooled 옵티마이저가 이미 받아 둔 id 블록은 그대로 남는다. 그래서 JPA로
+ * insert한 적이 있는 애플리케이션에서 복원하면 다음 persist가 복원된 행과 같은 id를 쓸 수 있다. 복원은 기동 시
+ * JPA insert보다 먼저 실행하고(MemberSnapshotRunner, 이때 InitMember는 적재하지 않는다), 실행 중에 복원했다면 애플리케이션을
+ * 재시작해야 한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class MemberSnapshotRepository {
+
+  static final int MAGIC = 0x4D534E50; // "MSNP"
+  static final int VERSION = 1;
+
+  private static final int HEADER_SIZE = 32;
+  private static final long NO_TEAM = -1L;
+  private static final int FETCH_SIZE = 10_000;
+  private static final int BATCH_SIZE = 10_000;
+  // 엔티티 @GeneratedValue 시퀀스의 allocationSize
+  private static final int ALLOCATION_SIZE = 50;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TeamStatsRepository teamStatsRepository;
+  private final MemberSearchViewRepository searchViewRepository;
+  private final MemberDataVersion dataVersion;
+  private final TransactionTemplate transactionTemplate;
+
+  public record SnapshotInfo(int teams, int members) {}
+
+  // 개수를 센 뒤 전체를 읽는 동안 데이터가 바뀌지 않도록 REPEATABLE_READ로 읽는다.
+  @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+  public SnapshotInfo export(Path file) throws IOException {
+    int teams = jdbcTemplate.queryForObject("select count(*) from team", Integer.class);
+    int members = jdbcTemplate.queryForObject("select count(*) from member", Integer.class);
+
+    try (FileChannel channel =
+        FileChannel.open(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.TRUNCATE_EXISTING,
+            StandardOpenOption.READ,
+            StandardOpenOption.WRITE)) {
+      // 문자열 바이트 수는 읽어 봐야 알 수 있으므로 그 뒤에 오는 구간의 위치는 앞 구간을 다 쓴 뒤에 정한다.
+      Layout layout = new Layout(teams, 0, members, 0);
+      MappedByteBuffer teamIds = map(channel, MapMode.READ_WRITE, layout.teamIds(), 8L * teams);
+      StringColumnWriter teamNames =
+          new StringColumnWriter(
+              channel,
+              layout.teamNameNulls(),
+              layout.teamNameOffsets(),
+              layout.teamNames(),
+              teams);
+      scan(
+          "select id, name from team order by id",
+          teams,
+          rs -> {
+            teamIds.putLong(rs.getLong(1));
+            teamNames.add(rs.getString(2));
+          });
+
+      layout = new Layout(teams, teamNames.byteSize(), members, 0);
+      MappedByteBuffer memberIds =
+          map(channel, MapMode.READ_WRITE, layout.memberIds(), 8L * members);
+      MappedByteBuffer ages = map(channel, MapMode.READ_WRITE, layout.memberAges(), 4L * members);
+      MappedByteBuffer memberTeamIds =
+          map(channel, MapMode.READ_WRITE, layout.memberTeamIds(), 8L * members);
+      StringColumnWriter usernames =
+          new StringColumnWriter(
+              channel,
+              layout.usernameNulls(),
+              layout.usernameOffsets(),
+              layout.usernames(),
+              members);
+      scan(
+          "select member_id, username, age, team_id from member order by member_id",
+          members,
+          rs -> {
+            memberIds.putLong(rs.getLong(1));
+            usernames.add(rs.getString(2));
+            ages.putInt(rs.getInt(3));
+            long teamId = rs.getLong(4);
+            memberTeamIds.putLong(rs.wasNull() ? NO_TEAM : teamId);
+          });
+
+      layout = new Layout(teams, teamNames.byteSize(), members, usernames.byteSize());
+      MappedByteBuffer header = map(channel, MapMode.READ_WRITE, 0, HEADER_SIZE);
+      header.putInt(MAGIC).putInt(VERSION).putInt(teams).putInt(members);
+      header.putLong(layout.teamNameBytes()).putLong(layout.usernameBytes());
+
+      for (MappedByteBuffer buffer : List.of(header, teamIds, memberIds, ages, memberTeamIds)) {
+        buffer.force();
+      }
+      teamNames.force();
+      usernames.force();
+      // 마지막 매핑 구간이 파일 끝을 넘어서 늘려 놓았을 수 있다.
+      channel.truncate(layout.size());
+    }
+    return new SnapshotInfo(teams, members);
+  }
+
+  // replace=true면 기존 member/team을 지우고 복원한다.
+  public SnapshotInfo restore(Path file, boolean replace) throws IOException {
+    SnapshotInfo info;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer header = map(channel, MapMode.READ_ONLY, 0, HEADER_SIZE);
+      if (header.getInt() != MAGIC || header.getInt() != VERSION) {
+        throw new IllegalArgumentException(
+            "not a member snapshot (version " + VERSION + "): " + file);
+      }
+      int teams = header.getInt();
+      int members = header.getInt();
+      Layout layout = new Layout(teams, header.getLong(), members, header.getLong());
+      if (channel.size() < layout.size()) {
+        throw new IllegalArgumentException("truncated member snapshot: " + file);
+      }
+
+      if (replace) {
+        transactionTemplate.executeWithoutResult(status -> deleteAll());
+      }
+
+      ByteBuffer teamIds = map(channel, MapMode.READ_ONLY, layout.teamIds(), 8L * teams);
+      StringColumnReader teamNames =
+          new StringColumnReader(
+              channel,
+              layout.teamNameNulls(),
+              layout.teamNameOffsets(),
+              layout.teamNames(),
+              teams,
+              layout.teamNameBytes());
+      ByteBuffer memberIds = map(channel, MapMode.READ_ONLY, layout.memberIds(), 8L * members);
+      ByteBuffer ages = map(channel, MapMode.READ_ONLY, layout.memberAges(), 4L * members);
+      ByteBuffer memberTeamIds =
+          map(channel, MapMode.READ_ONLY, layout.memberTeamIds(), 8L * members);
+      StringColumnReader usernames =
+          new StringColumnReader(
+              channel,
+              layout.usernameNulls(),
+              layout.usernameOffsets(),
+              layout.usernames(),
+              members,
+              layout.usernameBytes());
+
+      // 커밋한 팀/회원 행 수
+      int[] committed = {0, 0};
+      try {
+        batchUpdate(
+            "insert into team (id, name) values (?, ?)",
+            teams,
+            (ps, row) -> {
+              ps.setLong(1, teamIds.getLong(8 * row));
+              ps.setString(2, teamNames.get(row));
+            },
+            rows -> committed[0] += rows);
+        batchUpdate(
+            "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+            members,
+            (ps, row) -> {
+              ps.setLong(1, memberIds.getLong(8 * row));
+              ps.setString(2, usernames.get(row));
+              ps.setInt(3, ages.getInt(4 * row));
+              long teamId = memberTeamIds.getLong(8 * row);
+              if (teamId == NO_TEAM) {
+                ps.setNull(4, Types.BIGINT);
+              } else {
+                ps.setLong(4, teamId);
+              }
+            },
+            rows -> committed[1] += rows);
+      } catch (RuntimeException e) {
+        try {
+          undoRestore(replace, teamIds, committed[0], memberIds, committed[1]);
+        } catch (RuntimeException undo) {
+          e.addSuppressed(undo);
+        }
+        throw e;
+      }
+      info = new SnapshotInfo(teams, members);
+    }
+
+    restartSequence("team_seq", "select coalesce(max(id), 0) from team");
+    restartSequence("member_seq", "select coalesce(max(member_id), 0) from member");
+    transactionTemplate.executeWithoutResult(status -> recalculateDerived());
+    dataVersion.changed();
+    return info;
+  }
+
+  // 이미 커밋한 배치를 지운다. 추가에 성공한 행은 원래 없던 id이므로 id로 지워도 기존 행은 남는다.
+  private void undoRestore(
+      boolean replace, ByteBuffer teamIds, int teams, ByteBuffer memberIds, int members) {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          if (replace) {
+            deleteAll();
+          } else {
+            batchUpdate(
+                "delete from member where member_id = ?",
+                members,
+                (ps, row) -> ps.setLong(1, memberIds.getLong(8 * row)),
+                rows -> {});
+            batchUpdate(
+                "delete from team where id = ?",
+                teams,
+                (ps, row) -> ps.setLong(1, teamIds.getLong(8 * row)),
+                rows -> {});
+          }
+          recalculateDerived();
+        });
+    dataVersion.changed();
+  }
+
+  private void deleteAll() {
+    jdbcTemplate.update("delete from member");
+    jdbcTemplate.update("delete from team");
+  }
+
+  private void recalculateDerived() {
+    teamStatsRepository.recalculateAll();
+    searchViewRepository.rebuild();
+  }
+
+  private void scan(String sql, int expectedRows, ResultSetConsumer consumer) {
+    int[] rows = {0};
+    jdbcTemplate.query(
+        con -> {
+          PreparedStatement ps = con.prepareStatement(sql);
+          ps.setFetchSize(FETCH_SIZE);
+          return ps;
+        },
+        (RowCallbackHandler)
+            rs -> {
+              if (++rows[0] > expectedRows) {
+                throw new IllegalStateException("rows changed during export: " + sql);
+              }
+              consumer.accept(rs);
+            });
+    if (rows[0] != expectedRows) {
+      throw new IllegalStateException("rows changed during export: " + sql);
+    }
+  }
+
+  // BATCH_SIZE 행씩 실행하고 배치마다 커밋한다. (호출한 쪽 트랜잭션이 있으면 그 트랜잭션에 참여한다)
+  private void batchUpdate(String sql, int rows, RowSetter setter, IntConsumer committed) {
+    for (int start = 0; start < rows; start += BATCH_SIZE) {
+      int offset = start;
+      int size = Math.min(BATCH_SIZE, rows - start);
+      transactionTemplate.executeWithoutResult(
+          status ->
+              jdbcTemplate.batchUpdate(
+                  sql,
+                  new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                      setter.set(ps, offset + i);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                      return size;
+                    }
+                  }));
+      committed.accept(size);
+    }
+  }
+
+  // Hibernate pooled 옵티마이저는 시퀀스 값 아래로 allocationSize 만큼을 쓰므로 그만큼 더 띄워서 다시 시작한다.
+  private void restartSequence(String sequence, String maxIdSql) {
+    long maxId = jdbcTemplate.queryForObject(maxIdSql, Long.class);
+    jdbcTemplate.execute(
+        "alter sequence " + sequence + " restart with " + (maxId + 1 + ALLOCATION_SIZE));
+  }
+
+  private static MappedByteBuffer map(FileChannel channel, MapMode mode, long position, long size)
+      throws IOException {
+    if (size > Integer.MAX_VALUE) {
+      throw new IllegalStateException("snapshot column larger than 2GB: " + size + " bytes");
+    }
+    MappedByteBuffer buffer = channel.map(mode, position, size);
+    buffer.order(ByteOrder.LITTLE_ENDIAN);
+    return buffer;
+  }
+
+  private static long bitmapSize(int rows) {
+    return (rows + 7L) / 8;
+  }
+
+  // 헤더 값으로 각 구간의 시작 위치를 계산한다.
+  private record Layout(int teams, long teamNameBytes, int members, long usernameBytes) {
+
+    long teamIds() {
+      return HEADER_SIZE;
+    }
+
+    long teamNameNulls() {
+      return teamIds() + 8L * teams;
+    }
+
+    long teamNameOffsets() {
+      return teamNameNulls() + bitmapSize(teams);
+    }
+
+    long teamNames() {
+      return teamNameOffsets() + 4L * (teams + 1);
+    }
+
+    long memberIds() {
+      return teamNames() + teamNameBytes;
+    }
+
+    long memberAges() {
+      return memberIds() + 8L * members;
+    }
+
+    long memberTeamIds() {
+      return memberAges() + 4L * members;
+    }
+
+    long usernameNulls() {
+      return memberTeamIds() + 8L * members;
+    }
+
+    long usernameOffsets() {
+      return usernameNulls() + bitmapSize(members);
+    }
+
+    long usernames() {
+      return usernameOffsets() + 4L * (members + 1);
+    }
+
+    long size() {
+      return usernames() + usernameBytes;
+    }
+  }
+
+  // 문자열 컬럼 쓰기. 바이트 구간은 크기를 미리 알 수 없으므로 WINDOW 단위로 이어서 매핑한다.
+  private static final class StringColumnWriter {
+
+    private static final int WINDOW = 64 * 1024 * 1024;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer nulls;
+    private final MappedByteBuffer offsets;
+    private final long bytesPosition;
+    private final List<MappedByteBuffer> windows = new ArrayList<>();
+    private MappedByteBuffer window;
+    private long written;
+    private int row;
+
+    StringColumnWriter(
+        FileChannel channel, long nullsPosition, long offsetsPosition, long bytesPosition, int rows)
+        throws IOException {
+      this.channel = channel;
+      this.nulls = map(channel, MapMode.READ_WRITE, nullsPosition, bitmapSize(rows));
+      this.offsets = map(channel, MapMode.READ_WRITE, offsetsPosition, 4L * (rows + 1));
+      this.bytesPosition = bytesPosition;
+      offsets.putInt(0);
+    }
+
+    void add(String value) {
+      if (value == null) {
+        nulls.put(row >>> 3, (byte) (nulls.get(row >>> 3) | (1 << (row & 7))));
+      } else {
+        append(value.getBytes(UTF_8));
+      }
+      if (written > Integer.MAX_VALUE) {
+        throw new IllegalStateException("snapshot string column larger than 2GB");
+      }
+      offsets.putInt((int) written);
+      row++;
+    }
+
+    private void append(byte[] bytes) {
+      int offset = 0;
+      while (offset < bytes.length) {
+        if (window == null || !window.hasRemaining()) {
+          try {
+            window = channel.map(MapMode.READ_WRITE, bytesPosition + written, WINDOW);
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+          windows.add(window);
+        }
+        int length = Math.min(window.remaining(), bytes.length - offset);
+        window.put(bytes, offset, length);
+        offset += length;
+        written += length;
+      }
+    }
+
+    long byteSize() {
+      return written;
+    }
+
+    void force() {
+      nulls.force();
+      offsets.force();
+      windows.forEach(MappedByteBuffer::force);
+    }
+  }
+
+  private static final class StringColumnReader {
+
+    private final ByteBuffer nulls;
+    private final ByteBuffer offsets;
+    private final ByteBuffer bytes;
+
+    StringColumnReader(
+        FileChannel channel,
+        long nullsPosition,
+        long offsetsPosition,
+        long bytesPosition,
+        int rows,
+        long byteSize)
+        throws IOException {
+      this.nulls = map(channel, MapMode.READ_ONLY, nullsPosition, bitmapSize(rows));
+      this.offsets = map(channel, MapMode.READ_ONLY, offsetsPosition, 4L * (rows + 1));
+      this.bytes = map(channel, MapMode.READ_ONLY, bytesPosition, byteSize);
+    }
+
+    String get(int row) {
+      if ((nulls.get(row >>> 3) & (1 << (row & 7))) != 0) {
+        return null;
+      }
+      int start = offsets.getInt(4 * row);
+      byte[] value = new byte[offsets.getInt(4 * (row + 1)) - start];
+      bytes.get(start, value);
+      return new String(value, UTF_8);
+    }
+  }
+
+  @FunctionalInterface
+  private interface ResultSetConsumer {
+    void accept(ResultSet rs) throws SQLException;
+  }
+
+  @FunctionalInterface
+  private interface RowSetter {
+    void set(PreparedStatement ps, int row) throws SQLException;
+  }
+}
@@ -0,0 +1,276 @@
+package study.querydsl.repository;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.repository.MemberJdbcRepository.MEMBER_TEAM_ROW_MAPPER;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import javax.sql.DataSource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.MemberSearchSql;
+
+/**
+ * team_id 기준으로 회원을 여러 데이터소스(샤드)에 나눠 저장하고 조회한다.
+ *
+ * <ul>
+ *   <li>회원은 team_id % 샤드 수 번째 샤드에 저장한다. 팀이 없는 회원은 0번 샤드에 저장한다.
+ *   <li>팀 테이블은 모든 샤드에 복제한다. 팀명 조건은 팀 id로 바꿔서 해당 샤드에만 보낸다.
+ *   <li>팀 조건이 없으면 모든 샤드에 동시에 보내고(scatter) 정렬 순서대로 k-way merge 한다(gather).
+ *       페이징은 각 샤드에서 offset + size 개를 가져와 합친 뒤 전역 offset/limit을 적용하고, count는 샤드별 count의 합이다.
+ * </ul>
+ *
+ * <p>샤드 사이의 쓰기는 분산 트랜잭션 없이 샤드마다 따로 커밋한다. 대신 팀 복제와 회원 이동을 merge(upsert)와
+ * id 기준 delete로 만들어서 중간에 실패하면 같은 호출을 다시 실행해 샤드를 맞출 수 있다.
+ */
+public class ShardedMemberRepository implements AutoCloseable {
+
+  // 정렬 가능한 속성 -> 컬럼 (샤드 간 병합 순서를 맞추기 위해 허용된 속성만 정렬한다)
+  private static final Map<String, String> SORT_COLUMNS =
+      Map.of(
+          "memberId", "m.member_id",
+          "username", "m.username",
+          "age", "m.age",
+          "teamId", "t.id",
+          "teamName", "t.name");
+
+  private final List<JdbcTemplate> shards;
+  private final ExecutorService executor;
+
+  public ShardedMemberRepository(List<DataSource> dataSources) {
+    this.shards = dataSources.stream().map(JdbcTemplate::new).toList();
+    this.executor = Executors.newFixedThreadPool(dataSources.size());
+  }
+
+  public int shardCount() {
+    return shards.size();
+  }
+
+  public int shardOf(Long teamId) {
+    return teamId == null ? 0 : Math.floorMod(teamId, shards.size());
+  }
+
+  public void createSchema() {
+    for (JdbcTemplate shard : shards) {
+      shard.execute(
+          "create table if not exists team (id bigint primary key, name varchar(255))");
+      shard.execute(
+          "create table if not exists member (member_id bigint primary key,"
+              + " username varchar(255), age integer not null, team_id bigint)");
+      shard.execute("create index if not exists member_team_id_idx on member (team_id)");
+    }
+  }
+
+  // 팀 추가와 이름 변경 모두 이 메서드로 모든 샤드에 복제한다.
+  public void saveTeam(Long id, String name) {
+    for (JdbcTemplate shard : shards) {
+      shard.update("merge into team (id, name) key (id) values (?, ?)", id, name);
+    }
+  }
+
+  public void saveMember(Long id, String username, int age, Long teamId) {
+    shards
+        .get(shardOf(teamId))
+        .update(
+            "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+            id,
+            username,
+            age,
+            teamId);
+  }
+
+  // 팀이 바뀌면(Member.changeTeam) 새 팀의 샤드로 옮긴다.
+  // 새 샤드에 먼저 쓰고 나머지 샤드에서 지우므로, 옮기는 동안에는 두 샤드에서 함께 보일 수는 있어도 빠지지는 않는다.
+  public void updateMember(Long id, String username, int age, Long teamId) {
+    int target = shardOf(teamId);
+    shards
+        .get(target)
+        .update(
+            "merge into member (member_id, username, age, team_id) key (member_id)"
+                + " values (?, ?, ?, ?)",
+            id,
+            username,
+            age,
+            teamId);
+    for (int i = 0; i < shards.size(); i++) {
+      if (i != target) {
+        shards.get(i).update("delete from member where member_id = ?", id);
+      }
+    }
+  }
+
+  public void deleteMember(Long id) {
+    for (JdbcTemplate shard : shards) {
+      shard.update("delete from member where member_id = ?", id);
+    }
+  }
+
+  public List<MemberTeamDto> search(MemberSearchCondition condition) {
+    MemberSearchSql sql = MemberSearchSql.of(condition);
+    String query = sql.selectSql() + orderBy(Sort.unsorted());
+    List<List<MemberTeamDto>> results =
+        scatter(
+            targetShards(condition),
+            shard -> shard.query(query, MEMBER_TEAM_ROW_MAPPER, sql.getParams().toArray()));
+    return merge(results, comparator(Sort.unsorted()), 0, Long.MAX_VALUE);
+  }
+
+  public Page<MemberTeamDto> searchPageComplex(
+      MemberSearchCondition condition, Pageable pageable) {
+    Set<Integer> targets = targetShards(condition);
+    MemberSearchSql sql = MemberSearchSql.of(condition);
+    // 전역 offset 이전의 row가 어느 샤드에 있을지 모르므로 각 샤드에서 offset + size 개를 읽는다.
+    long perShardLimit = pageable.getOffset() + pageable.getPageSize();
+    String query = sql.selectSql() + orderBy(pageable.getSort()) + " limit " + perShardLimit;
+    List<List<MemberTeamDto>> results =
+        scatter(
+            targets,
+            shard -> shard.query(query, MEMBER_TEAM_ROW_MAPPER, sql.getParams().toArray()));
+    List<MemberTeamDto> content =
+        merge(
+            results, comparator(pageable.getSort()), pageable.getOffset(), pageable.getPageSize());
+
+    return PageableExecutionUtils.getPage(
+        content,
+        pageable,
+        () ->
+            scatter(
+                    targets,
+                    shard ->
+                        shard.queryForObject(
+                            sql.countSql(), Long.class, sql.getParams().toArray()))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum());
+  }
+
+  // 팀명 조건이 있으면 해당 팀이 저장된 샤드만, 없으면 전체 샤드
+  private Set<Integer> targetShards(MemberSearchCondition condition) {
+    Set<Integer> targets = new LinkedHashSet<>();
+    if (hasText(condition.getTeamName())) {
+      // 팀 테이블은 모든 샤드에 복제되어 있으므로 0번 샤드에서 팀 id를 찾는다.
+      shards
+          .get(0)
+          .queryForList("select id from team where name = ?", Long.class, condition.getTeamName())
+          .forEach(teamId -> targets.add(shardOf(teamId)));
+      return targets;
+    }
+    for (int i = 0; i < shards.size(); i++) {
+      targets.add(i);
+    }
+    return targets;
+  }
+
+  private <T> List<T> scatter(Set<Integer> targets, Function<JdbcTemplate, T> query) {
+    if (targets.size() == 1) {
+      return List.of(query.apply(shards.get(targets.iterator().next())));
+    }
+    List<CompletableFuture<T>> futures = new ArrayList<>(targets.size());
+    for (Integer target : targets) {
+      futures.add(CompletableFuture.supplyAsync(() -> query.apply(shards.get(target)), executor));
+    }
+    return futures.stream().map(CompletableFuture::join).toList();
+  }
+
+  // 샤드별로 정렬된 결과를 하나의 정렬된 결과로 합치면서 offset 만큼 건너뛰고 limit 개만 남긴다.
+  private static List<MemberTeamDto> merge(
+      List<List<MemberTeamDto>> sortedResults,
+      Comparator<MemberTeamDto> comparator,
+      long offset,
+      long limit) {
+    PriorityQueue<Cursor> heap =
+        new PriorityQueue<>((a, b) -> comparator.compare(a.current(), b.current()));
+    for (List<MemberTeamDto> rows : sortedResults) {
+      if (!rows.isEmpty()) {
+        heap.add(new Cursor(rows));
+      }
+    }
+    List<MemberTeamDto> merged = new ArrayList<>();
+    long skipped = 0;
+    while (!heap.isEmpty() && merged.size() < limit) {
+      Cursor cursor = heap.poll();
+      if (skipped < offset) {
+        skipped++;
+      } else {
+        merged.add(cursor.current());
+      }
+      if (cursor.advance()) {
+        heap.add(cursor);
+      }
+    }
+    return merged;
+  }
+
+  // SQL의 order by와 같은 순서. member_id를 마지막 정렬 기준으로 두어서 전역 순서가 항상 하나로 정해지게 한다.
+  private static String orderBy(Sort sort) {
+    List<String> orders = new ArrayList<>();
+    for (Sort.Order order : sort) {
+      String column = SORT_COLUMNS.get(order.getProperty());
+      if (column == null) {
+        throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+      }
+      orders.add(column + (order.isAscending() ? " asc nulls first" : " desc nulls last"));
+    }
+    orders.add("m.member_id asc");
+    return " order by " + String.join(", ", orders);
+  }
+
+  private static Comparator<MemberTeamDto> comparator(Sort sort) {
+    Comparator<MemberTeamDto> comparator = (a, b) -> 0;
+    for (Sort.Order order : sort) {
+      Comparator<MemberTeamDto> property =
+          switch (order.getProperty()) {
+            case "memberId" -> nullsFirst(MemberTeamDto::getMemberId);
+            case "username" -> nullsFirst(MemberTeamDto::getUsername);
+            case "age" -> nullsFirst(MemberTeamDto::getAge);
+            case "teamId" -> nullsFirst(MemberTeamDto::getTeamId);
+            case "teamName" -> nullsFirst(MemberTeamDto::getTeamName);
+            default -> throw new IllegalArgumentException(
+                "Unsupported sort property: " + order.getProperty());
+          };
+      comparator = comparator.thenComparing(order.isAscending() ? property : property.reversed());
+    }
+    return comparator.thenComparing(MemberTeamDto::getMemberId);
+  }
+
+  private static <U extends Comparable<? super U>> Comparator<MemberTeamDto> nullsFirst(
+      Function<MemberTeamDto, U> keyExtractor) {
+    return Comparator.comparing(keyExtractor, Comparator.nullsFirst(Comparator.naturalOrder()));
+  }
+
+  @Override
+  public void close() {
+    executor.shutdown();
+  }
+
+  private static class Cursor {
+    private final List<MemberTeamDto> rows;
+    private int position;
+
+    Cursor(List<MemberTeamDto> rows) {
+      this.rows = rows;
+    }
+
+    MemberTeamDto current() {
+      return rows.get(position);
+    }
+
+    boolean advance() {
+      return ++position < rows.size();
+    }
+  }
+}
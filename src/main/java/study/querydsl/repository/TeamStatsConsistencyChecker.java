@@ -0,0 +1,33 @@
+package study.querydsl.repository;
+
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+// team_stats 요약 테이블 정합성 검사 배치
+// 증분 갱신이 빠질 수 있는 경우(리스너를 거치지 않는 SQL, merge 등)를 주기적으로 찾아서 해당 팀만 다시 계산한다.
+@Slf4j
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+public class TeamStatsConsistencyChecker {
+
+  private final TeamStatsRepository teamStatsRepository;
+
+  @Transactional
+  @Scheduled(
+      initialDelayString = "${team-stats.check-interval:PT10M}",
+      fixedDelayString = "${team-stats.check-interval:PT10M}")
+  public int check() {
+    Set<Long> drifted = teamStatsRepository.findDriftedTeamIds();
+    if (!drifted.isEmpty()) {
+      log.warn("team_stats drift detected, recalculating teams={}", drifted);
+      teamStatsRepository.recalculate(drifted);
+    }
+    return drifted.size();
+  }
+}
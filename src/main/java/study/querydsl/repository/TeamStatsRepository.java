@@ -0,0 +1,147 @@
+package study.querydsl.repository;
+
+import static study.querydsl.entity.QTeam.team;
+import static study.querydsl.entity.QTeamStats.teamStats;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import study.querydsl.dto.QTeamStatsDto;
+import study.querydsl.dto.TeamStatsDto;
+
+// team_stats 요약 테이블 관리
+// 증분 갱신은 Hibernate flush 도중(이벤트 리스너)에 호출되기 때문에 EntityManager 대신 JdbcTemplate을 사용한다.
+// JpaTransactionManager가 같은 커넥션을 바인딩해 주므로 회원 insert/update/delete와 같은 트랜잭션에서 실행된다.
+@Repository
+@RequiredArgsConstructor
+public class TeamStatsRepository {
+
+  private final JdbcTemplate jdbcTemplate;
+  private final NamedParameterJdbcTemplate namedJdbcTemplate;
+  private final JPAQueryFactory queryFactory;
+
+  public List<TeamStatsDto> findAll() {
+    return queryFactory
+        .select(
+            new QTeamStatsDto(
+                team.id,
+                team.name,
+                teamStats.memberCount,
+                teamStats.ageSum,
+                teamStats.minAge,
+                teamStats.maxAge))
+        .from(teamStats)
+        .join(team)
+        .on(team.id.eq(teamStats.teamId))
+        .orderBy(team.id.asc())
+        .fetch();
+  }
+
+  public void createEmpty(Long teamId) {
+    jdbcTemplate.update(
+        "insert into team_stats (team_id, member_count, age_sum, min_age, max_age)"
+            + " values (?, 0, 0, null, null)",
+        teamId);
+  }
+
+  public void delete(Long teamId) {
+    jdbcTemplate.update("delete from team_stats where team_id = ?", teamId);
+  }
+
+  public void memberAdded(Long teamId, int age) {
+    int updated =
+        jdbcTemplate.update(
+            "update team_stats set member_count = member_count + 1, age_sum = age_sum + ?,"
+                + " min_age = least(coalesce(min_age, ?), ?),"
+                + " max_age = greatest(coalesce(max_age, ?), ?)"
+                + " where team_id = ?",
+            age, age, age, age, age, teamId);
+    // 팀 생성 시점에 행을 만들어 두지만, 기능 도입 이전에 만들어진 팀은 행이 없을 수 있다.
+    if (updated == 0) {
+      recalculate(List.of(teamId));
+    }
+  }
+
+  // 여러 회원을 한 번에 추가할 때(JDBC 배치 import) 팀별 집계를 한 문장으로 반영한다.
+  public void membersAdded(Long teamId, long count, long ageSum, int minAge, int maxAge) {
+    int updated =
+        jdbcTemplate.update(
+            "update team_stats set member_count = member_count + ?, age_sum = age_sum + ?,"
+                + " min_age = least(coalesce(min_age, ?), ?),"
+                + " max_age = greatest(coalesce(max_age, ?), ?)"
+                + " where team_id = ?",
+            count, ageSum, minAge, minAge, maxAge, maxAge, teamId);
+    if (updated == 0) {
+      recalculate(List.of(teamId));
+    }
+  }
+
+  public void memberRemoved(Long teamId, int age) {
+    jdbcTemplate.update(
+        "update team_stats set member_count = member_count - 1, age_sum = age_sum - ?"
+            + " where team_id = ?",
+        age, teamId);
+    // 최소/최대값은 빼는 것으로 되돌릴 수 없으므로, 빠진 값이 경계값이었을 때만 해당 팀을 다시 계산한다.
+    jdbcTemplate.update(
+        "update team_stats set"
+            + " min_age = (select min(m.age) from member m where m.team_id = ?),"
+            + " max_age = (select max(m.age) from member m where m.team_id = ?)"
+            + " where team_id = ? and (min_age = ? or max_age = ?)",
+        teamId, teamId, teamId, age, age);
+  }
+
+  public void recalculate(Collection<Long> teamIds) {
+    if (teamIds.isEmpty()) {
+      return;
+    }
+    Map<String, Object> params = Map.of("teamIds", teamIds);
+    namedJdbcTemplate.update("delete from team_stats where team_id in (:teamIds)", params);
+    namedJdbcTemplate.update(
+        "insert into team_stats (team_id, member_count, age_sum, min_age, max_age)"
+            + " select t.id, count(m.member_id), coalesce(sum(m.age), 0), min(m.age), max(m.age)"
+            + " from team t left join member m on m.team_id = t.id"
+            + " where t.id in (:teamIds)"
+            + " group by t.id",
+        params);
+  }
+
+  public void recalculateAll() {
+    jdbcTemplate.update("delete from team_stats");
+    jdbcTemplate.update(
+        "insert into team_stats (team_id, member_count, age_sum, min_age, max_age)"
+            + " select t.id, count(m.member_id), coalesce(sum(m.age), 0), min(m.age), max(m.age)"
+            + " from team t left join member m on m.team_id = t.id"
+            + " group by t.id");
+  }
+
+  // 요약 테이블과 실제 member 테이블의 집계가 다른 팀 id 목록 (정합성 검사용, 전체 스캔이므로 배치에서만 사용)
+  public Set<Long> findDriftedTeamIds() {
+    Set<Long> drifted = new LinkedHashSet<>();
+    drifted.addAll(
+        jdbcTemplate.queryForList(
+            "select t.id from team t"
+                + " left join team_stats s on s.team_id = t.id"
+                + " left join (select team_id, count(*) cnt, sum(age) age_sum,"
+                + " min(age) min_age, max(age) max_age"
+                + " from member where team_id is not null group by team_id) a on a.team_id = t.id"
+                + " where s.team_id is null"
+                + " or s.member_count <> coalesce(a.cnt, 0)"
+                + " or s.age_sum <> coalesce(a.age_sum, 0)"
+                + " or s.min_age is distinct from a.min_age"
+                + " or s.max_age is distinct from a.max_age",
+            Long.class));
+    drifted.addAll(
+        jdbcTemplate.queryForList(
+            "select s.team_id from team_stats s"
+                + " where not exists (select 1 from team t where t.id = s.team_id)",
+            Long.class));
+    return drifted;
+  }
+}
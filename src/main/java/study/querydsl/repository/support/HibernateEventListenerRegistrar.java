@@ -0,0 +1,50 @@
+package study.querydsl.repository.support;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * 스프링 빈으로 등록된 Hibernate 이벤트 리스너를 SessionFactory에 등록한다.
+ *
+ * <p>리스너는 flush 도중 엔티티 insert/update/delete 직후에 같은 트랜잭션 안에서 호출된다.
+ * JPQL 벌크 연산은 이벤트가 발생하지 않으므로 벌크 연산을 하는 쪽에서 직접 처리해야 한다.
+ */
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+public class HibernateEventListenerRegistrar {
+
+  private final EntityManagerFactory entityManagerFactory;
+  private final ObjectProvider<PostInsertEventListener> postInsertListeners;
+  private final ObjectProvider<PostUpdateEventListener> postUpdateListeners;
+  private final ObjectProvider<PostDeleteEventListener> postDeleteListeners;
+
+  @PostConstruct
+  public void register() {
+    EventListenerRegistry registry =
+        entityManagerFactory
+            .unwrap(SessionFactoryImplementor.class)
+            .getServiceRegistry()
+            .getService(EventListenerRegistry.class);
+
+    postInsertListeners
+        .orderedStream()
+        .forEach(listener -> registry.appendListeners(EventType.POST_INSERT, listener));
+    postUpdateListeners
+        .orderedStream()
+        .forEach(listener -> registry.appendListeners(EventType.POST_UPDATE, listener));
+    postDeleteListeners
+        .orderedStream()
+        .forEach(listener -> registry.appendListeners(EventType.POST_DELETE, listener));
+  }
+}
@@ -0,0 +1,21 @@
+package study.querydsl.repository.support;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// JDBC 문장 하나의 실행 (p6spy가 감싼 DataSource에서 실행된 것만)
+@Name("study.querydsl.JdbcStatement")
+@Label("JDBC Statement")
+@Category({"Querydsl", "JDBC"})
+@StackTrace(false)
+public class JdbcStatementEvent extends Event {
+
+  @Label("SQL")
+  String sql;
+
+  @Label("Failed")
+  boolean failed;
+}
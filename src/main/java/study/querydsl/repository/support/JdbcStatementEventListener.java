@@ -0,0 +1,45 @@
+package study.querydsl.repository.support;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import java.sql.SQLException;
+import org.springframework.stereotype.Component;
+
+// p6spy JDBC 이벤트를 JFR 이벤트로 남기고, 진행 중인 RepositoryCallEvent에 JDBC 실행 시간을 더한다.
+// p6spy-spring-boot-starter가 JdbcEventListener 빈을 자동으로 등록한다.
+@Component
+public class JdbcStatementEventListener extends SimpleJdbcEventListener {
+
+  private static final int MAX_SQL_LENGTH = 1000;
+
+  // 한 스레드에서 JDBC 문장 실행은 중첩되지 않는다.
+  private final ThreadLocal<JdbcStatementEvent> current = new ThreadLocal<>();
+
+  @Override
+  public void onBeforeAnyExecute(StatementInformation statementInformation) {
+    JdbcStatementEvent event = new JdbcStatementEvent();
+    if (event.isEnabled()) {
+      event.begin();
+      current.set(event);
+    }
+  }
+
+  @Override
+  public void onAfterAnyExecute(
+      StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+    RepositoryCallEvent.jdbcExecuted(timeElapsedNanos);
+    JdbcStatementEvent event = current.get();
+    if (event == null) {
+      return;
+    }
+    current.remove();
+    event.end();
+    if (event.shouldCommit()) {
+      String sql = statementInformation.getSql();
+      event.sql =
+          sql != null && sql.length() > MAX_SQL_LENGTH ? sql.substring(0, MAX_SQL_LENGTH) : sql;
+      event.failed = e != null;
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,105 @@
+package study.querydsl.repository.support;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.MemberJpaRepository;
+
+/**
+ * 여러 검색 조건을 한 번의 요청으로 처리한다.
+ *
+ * <p>조건을 정규화해서 같은 조건은 한 번만 실행하고, 나머지는 크기가 제한된 전용 스레드 풀에서
+ * 동시에 실행한 뒤 요청 순서대로 돌려준다. 풀과 큐가 모두 차면 요청 스레드가 직접 실행하므로
+ * 동시에 사용하는 커넥션 수도 제한된다. 각 조건은 최대 limit 행까지만 조회한다.
+ */
+@Component
+public class MemberBatchSearcher {
+
+  private final MemberJpaRepository memberJpaRepository;
+  private final MemberSearchConditionNormalizer conditionNormalizer;
+  private final int maxBatchSize;
+  private final ThreadPoolExecutor executor;
+
+  public MemberBatchSearcher(
+      MemberJpaRepository memberJpaRepository,
+      MemberSearchConditionNormalizer conditionNormalizer,
+      @Value("${member.batch.pool-size:4}") int poolSize,
+      @Value("${member.batch.queue-capacity:100}") int queueCapacity,
+      @Value("${member.batch.max-size:50}") int maxBatchSize) {
+    this.memberJpaRepository = memberJpaRepository;
+    this.conditionNormalizer = conditionNormalizer;
+    this.maxBatchSize = maxBatchSize;
+
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.executor =
+        new ThreadPoolExecutor(
+            poolSize,
+            poolSize,
+            0L,
+            TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueCapacity),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "member-batch-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.CallerRunsPolicy());
+  }
+
+  public List<List<MemberTeamDto>> search(List<MemberSearchCondition> conditions, long limit) {
+    if (conditions.size() > maxBatchSize) {
+      throw new IllegalArgumentException(
+          "Too many conditions: " + conditions.size() + " (max " + maxBatchSize + ")");
+    }
+    if (conditions.contains(null)) {
+      throw new IllegalArgumentException("Condition must not be null");
+    }
+
+    Map<MemberSearchCondition, CompletableFuture<List<MemberTeamDto>>> distinct = new HashMap<>();
+    List<CompletableFuture<List<MemberTeamDto>>> ordered = new ArrayList<>(conditions.size());
+    for (MemberSearchCondition condition : conditions) {
+      Optional<MemberSearchCondition> normalized = conditionNormalizer.normalize(condition);
+      if (normalized.isEmpty()) {
+        ordered.add(CompletableFuture.completedFuture(List.of()));
+        continue;
+      }
+      ordered.add(
+          distinct.computeIfAbsent(normalized.get(), unique -> submit(unique, limit)));
+    }
+    try {
+      return ordered.stream().map(CompletableFuture::join).toList();
+    } catch (CompletionException e) {
+      // 실행 스레드에서 난 예외를 그대로 던진다.
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
+  // 이미 정규화한 조건이므로 리포지토리에서 다시 정규화하지 않는다.
+  private CompletableFuture<List<MemberTeamDto>> submit(
+      MemberSearchCondition normalized, long limit) {
+    return CompletableFuture.supplyAsync(
+        () -> memberJpaRepository.searchNormalized(normalized, limit), executor);
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    executor.shutdown();
+  }
+}
@@ -0,0 +1,15 @@
+package study.querydsl.repository.support;
+
+import java.util.List;
+import study.querydsl.entity.MemberChangeEvent;
+
+/**
+ * Member/Team 변경 이벤트를 받는 리스너 (캐시 무효화, 파생 데이터 갱신 등)
+ *
+ * <p>스프링 빈으로 등록하거나 {@link MemberChangeOutboxPoller#addListener}로 등록한다. 변경이 커밋된 뒤 id 순서대로
+ * 묶음(batch)으로 전달되며, 예외를 던지면 같은 이벤트가 다음 폴링에서 다시 전달된다(at-least-once).
+ */
+public interface MemberChangeListener {
+
+  void onChanges(List<MemberChangeEvent> events);
+}
@@ -0,0 +1,53 @@
+package study.querydsl.repository.support;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberChangeEvent.ChangeType;
+import study.querydsl.entity.MemberChangeEvent.EntityType;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberChangeOutboxRepository;
+
+// Member/Team 저장, 변경(changeTeam 포함), 삭제를 같은 트랜잭션에서 outbox에 기록한다.
+@Component
+@RequiredArgsConstructor
+public class MemberChangeOutboxEventListener
+    implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+  private final MemberChangeOutboxRepository outboxRepository;
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    append(event.getEntity(), ChangeType.INSERT, event.getId());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    append(event.getEntity(), ChangeType.UPDATE, event.getId());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    append(event.getEntity(), ChangeType.DELETE, event.getId());
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  private void append(Object entity, ChangeType changeType, Object id) {
+    if (entity instanceof Member) {
+      outboxRepository.append(EntityType.MEMBER, changeType, (Long) id);
+    } else if (entity instanceof Team) {
+      outboxRepository.append(EntityType.TEAM, changeType, (Long) id);
+    }
+  }
+}
@@ -0,0 +1,53 @@
+package study.querydsl.repository.support;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.MemberChangeEvent;
+import study.querydsl.repository.MemberChangeOutboxRepository;
+
+// outbox를 주기적으로 읽어서 등록된 리스너에 전달하고, 모든 리스너가 성공하면 같은 트랜잭션에서 삭제한다.
+@Component
+@Lazy(false)
+public class MemberChangeOutboxPoller {
+
+  private final MemberChangeOutboxRepository outboxRepository;
+  private final List<MemberChangeListener> listeners = new CopyOnWriteArrayList<>();
+  private final int batchSize;
+
+  public MemberChangeOutboxPoller(
+      MemberChangeOutboxRepository outboxRepository,
+      ObjectProvider<MemberChangeListener> listeners,
+      @Value("${member.outbox.batch-size:500}") int batchSize) {
+    this.outboxRepository = outboxRepository;
+    this.batchSize = batchSize;
+    listeners.orderedStream().forEach(this.listeners::add);
+  }
+
+  public void addListener(MemberChangeListener listener) {
+    listeners.add(listener);
+  }
+
+  public void removeListener(MemberChangeListener listener) {
+    listeners.remove(listener);
+  }
+
+  @Transactional
+  @Scheduled(fixedDelayString = "${member.outbox.poll-interval:PT1S}")
+  public int poll() {
+    List<MemberChangeEvent> events = outboxRepository.findBatch(batchSize);
+    if (events.isEmpty()) {
+      return 0;
+    }
+    for (MemberChangeListener listener : listeners) {
+      listener.onChanges(events);
+    }
+    outboxRepository.delete(events.stream().map(MemberChangeEvent::getId).toList());
+    return events.size();
+  }
+}
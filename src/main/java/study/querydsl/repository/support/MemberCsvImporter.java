@@ -0,0 +1,317 @@
+package study.querydsl.repository.support;
+
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.dto.MemberImportResult.RowError;
+import study.querydsl.repository.MemberJdbcRepository;
+import study.querydsl.repository.MemberJdbcRepository.NewMember;
+
+/**
+ * CSV 회원 import (username,age,teamName 헤더, teamName은 비워도 된다)
+ *
+ * <p>요청 스레드가 스트림을 한 줄씩 읽어서 검증하고, batch-size 단위로 크기가 제한된 큐에 넣는다. 쓰기 스레드는 큐에서 꺼낸
+ * 배치마다 트랜잭션 하나로 JDBC 배치 insert를 한다. 큐가 차면 읽기가 멈추므로(back-pressure) 파일 전체를 메모리에 올리지
+ * 않는다. 검증에 실패한 행과 실패한 배치의 행은 건너뛰고 결과에 줄 번호와 함께 남긴다.
+ */
+@Slf4j
+@Component
+public class MemberCsvImporter {
+
+  private static final String HEADER = "username,age,teamName";
+  private static final int MAX_USERNAME_LENGTH = 255;
+  private static final int PROGRESS_INTERVAL = 100_000;
+
+  private final MemberJdbcRepository memberJdbcRepository;
+  private final JPAQueryFactory queryFactory;
+  private final TransactionTemplate transactionTemplate;
+  private final ThreadPoolExecutor writers;
+  private final int batchSize;
+  private final int queueCapacity;
+  private final int maxErrors;
+
+  public MemberCsvImporter(
+      MemberJdbcRepository memberJdbcRepository,
+      JPAQueryFactory queryFactory,
+      TransactionTemplate transactionTemplate,
+      @Value("${member.import.max-concurrent:2}") int maxConcurrent,
+      @Value("${member.import.batch-size:1000}") int batchSize,
+      @Value("${member.import.queue-capacity:4}") int queueCapacity,
+      @Value("${member.import.max-errors:1000}") int maxErrors) {
+    this.memberJdbcRepository = memberJdbcRepository;
+    this.queryFactory = queryFactory;
+    this.transactionTemplate = transactionTemplate;
+    this.batchSize = batchSize;
+    this.queueCapacity = queueCapacity;
+    this.maxErrors = maxErrors;
+
+    // 동시에 진행할 수 있는 import 수를 제한한다. 넘으면 RejectedExecutionException
+    AtomicInteger threadNumber = new AtomicInteger();
+    this.writers =
+        new ThreadPoolExecutor(
+            0,
+            maxConcurrent,
+            60L,
+            TimeUnit.SECONDS,
+            new SynchronousQueue<>(),
+            runnable -> {
+              Thread thread =
+                  new Thread(runnable, "member-import-" + threadNumber.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            },
+            new ThreadPoolExecutor.AbortPolicy());
+  }
+
+  public MemberImportResult importCsv(InputStream in) throws IOException {
+    long start = System.nanoTime();
+    Progress progress = new Progress(maxErrors);
+    BlockingQueue<Batch> queue = new ArrayBlockingQueue<>(queueCapacity);
+    Future<?> writer = writers.submit(() -> write(queue, progress));
+
+    try (BufferedReader reader =
+        new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+      String header = reader.readLine();
+      if (header == null || !HEADER.equalsIgnoreCase(header.strip())) {
+        throw new IllegalArgumentException("CSV header must be: " + HEADER);
+      }
+      // import 하나 동안만 쓰는 팀명 -> id 캐시 (없는 팀도 캐시한다)
+      Map<String, Optional<Long>> teamIds = new HashMap<>();
+      Batch batch = new Batch();
+      long line = 1;
+      String text;
+      while ((text = reader.readLine()) != null) {
+        line++;
+        if (text.isBlank()) {
+          continue;
+        }
+        progress.rowsRead.incrementAndGet();
+        try {
+          batch.add(line, parse(text, teamIds));
+        } catch (IllegalArgumentException e) {
+          progress.error(line, e.getMessage());
+          continue;
+        }
+        if (batch.members.size() >= batchSize) {
+          put(queue, batch, writer);
+          batch = new Batch();
+        }
+      }
+      if (!batch.members.isEmpty()) {
+        put(queue, batch, writer);
+      }
+    } finally {
+      // 읽기에 실패해도 쓰기 스레드가 끝나도록 종료 표시를 넣는다.
+      put(queue, new Batch(), writer);
+    }
+    await(writer);
+
+    long elapsed = (System.nanoTime() - start) / 1_000_000;
+    log.info(
+        "member import finished: read={} imported={} failed={} in {} ms",
+        progress.rowsRead.get(),
+        progress.imported.get(),
+        progress.failed.get(),
+        elapsed);
+    return progress.toResult(elapsed);
+  }
+
+  private NewMember parse(String text, Map<String, Optional<Long>> teamIds) {
+    List<String> fields = splitCsvLine(text);
+    if (fields.size() < 2 || fields.size() > 3) {
+      throw new IllegalArgumentException("expected 2 or 3 columns but was " + fields.size());
+    }
+    String username = fields.get(0).strip();
+    if (username.isEmpty() || username.length() > MAX_USERNAME_LENGTH) {
+      throw new IllegalArgumentException("username must be 1.." + MAX_USERNAME_LENGTH + " chars");
+    }
+    int age;
+    try {
+      age = Integer.parseInt(fields.get(1).strip());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException("age is not a number: " + fields.get(1));
+    }
+    if (age < 0) {
+      throw new IllegalArgumentException("age must not be negative: " + age);
+    }
+    String teamName = fields.size() == 3 ? fields.get(2).strip() : "";
+    Long teamId = null;
+    if (!teamName.isEmpty()) {
+      teamId =
+          teamIds
+              .computeIfAbsent(teamName, this::findTeamId)
+              .orElseThrow(() -> new IllegalArgumentException("unknown team: " + teamName));
+    }
+    return new NewMember(username, age, teamId);
+  }
+
+  private Optional<Long> findTeamId(String teamName) {
+    return Optional.ofNullable(
+        queryFactory.select(team.id).from(team).where(team.name.eq(teamName)).fetchFirst());
+  }
+
+  // 쉼표 구분, 큰따옴표로 감싼 값("a,b", "a""b") 지원. 여러 줄에 걸친 값은 지원하지 않는다.
+  private static List<String> splitCsvLine(String line) {
+    List<String> fields = new ArrayList<>();
+    StringBuilder field = new StringBuilder();
+    boolean quoted = false;
+    for (int i = 0; i < line.length(); i++) {
+      char c = line.charAt(i);
+      if (quoted) {
+        if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+          field.append('"');
+          i++;
+        } else if (c == '"') {
+          quoted = false;
+        } else {
+          field.append(c);
+        }
+      } else if (c == '"') {
+        quoted = true;
+      } else if (c == ',') {
+        fields.add(field.toString());
+        field.setLength(0);
+      } else {
+        field.append(c);
+      }
+    }
+    if (quoted) {
+      throw new IllegalArgumentException("unterminated quoted field");
+    }
+    fields.add(field.toString());
+    return fields;
+  }
+
+  private void write(BlockingQueue<Batch> queue, Progress progress) {
+    while (true) {
+      Batch batch;
+      try {
+        batch = queue.take();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return;
+      }
+      if (batch.members.isEmpty()) {
+        return;
+      }
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> memberJdbcRepository.insertAll(batch.members));
+        long imported = progress.imported.addAndGet(batch.members.size());
+        if (imported / PROGRESS_INTERVAL != (imported - batch.members.size()) / PROGRESS_INTERVAL) {
+          log.info("member import progress: imported={}", imported);
+        }
+      } catch (RuntimeException e) {
+        log.warn("member import batch failed (lines {}..{})", batch.firstLine, batch.lastLine, e);
+        for (Long line : batch.lines) {
+          progress.error(line, "batch failed: " + e.getMessage());
+        }
+      }
+    }
+  }
+
+  // 쓰기 스레드가 먼저 끝났으면(예외) 큐가 비지 않으므로 기다리지 않고 실패시킨다.
+  private static void put(BlockingQueue<Batch> queue, Batch batch, Future<?> writer) {
+    try {
+      while (!queue.offer(batch, 100, TimeUnit.MILLISECONDS)) {
+        if (writer.isDone()) {
+          await(writer);
+          throw new IllegalStateException("member import writer stopped");
+        }
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writer.cancel(true);
+      throw new IllegalStateException("member import interrupted", e);
+    }
+  }
+
+  private static void await(Future<?> writer) {
+    try {
+      writer.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      writer.cancel(true);
+      throw new IllegalStateException("member import interrupted", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("member import writer failed", e.getCause());
+    }
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    writers.shutdownNow();
+  }
+
+  private static final class Batch {
+    private final List<NewMember> members = new ArrayList<>();
+    private final List<Long> lines = new ArrayList<>();
+    private long firstLine;
+    private long lastLine;
+
+    void add(long line, NewMember member) {
+      if (members.isEmpty()) {
+        firstLine = line;
+      }
+      lastLine = line;
+      members.add(member);
+      lines.add(line);
+    }
+  }
+
+  private static final class Progress {
+    private final AtomicLong rowsRead = new AtomicLong();
+    private final AtomicLong imported = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final List<RowError> errors = new ArrayList<>();
+    private final int maxErrors;
+
+    Progress(int maxErrors) {
+      this.maxErrors = maxErrors;
+    }
+
+    synchronized void error(long line, String message) {
+      failed.incrementAndGet();
+      if (errors.size() < maxErrors) {
+        errors.add(new RowError(line, message));
+      }
+    }
+
+    synchronized MemberImportResult toResult(long elapsedMillis) {
+      List<RowError> sorted =
+          errors.stream().sorted((a, b) -> Long.compare(a.line(), b.line())).toList();
+      return new MemberImportResult(
+          rowsRead.get(),
+          imported.get(),
+          failed.get(),
+          sorted,
+          failed.get() > errors.size(),
+          elapsedMillis);
+    }
+  }
+}
@@ -0,0 +1,54 @@
+package study.querydsl.repository.support;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 회원/팀 데이터 버전 (조건부 GET의 ETag에 사용)
+ *
+ * <p>member/team이 바뀌는 모든 경로(엔티티 저장/변경/삭제, 벌크 연산, JDBC import, 스냅샷 복원)에서 {@link #changed()}를
+ * 호출한다. 트랜잭션 안이면 트랜잭션이 끝난 뒤에 한 번만 올린다. 커밋 전에 올리면 아직 이전 데이터를 읽은 응답이 새 버전으로
+ * 태그될 수 있기 때문이다. 롤백돼도 올리는데, 버전이 올라가서 생기는 비용은 한 번의 재조회뿐이다.
+ *
+ * <p>버전은 메모리에만 있으므로 재시작하면 epoch가 바뀌어 이전에 발급한 ETag는 모두 맞지 않게 된다.
+ *
+ * <p>단일 인스턴스 전용이다. 여러 인스턴스가 같은 DB를 쓰면 다른 인스턴스에서 바뀐 데이터를 알 수 없어서 이전 데이터에 304를
+ * 응답할 수 있다. 그런 환경에서는 member.search.etag.enabled=false로 조건부 GET을 끈다.
+ */
+@Component
+public class MemberDataVersion {
+
+  private final long epoch = ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE;
+  private final AtomicLong version = new AtomicLong();
+
+  public long getEpoch() {
+    return epoch;
+  }
+
+  public long current() {
+    return version.get();
+  }
+
+  public void changed() {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      version.incrementAndGet();
+      return;
+    }
+    // 트랜잭션마다 한 번만 등록한다.
+    if (TransactionSynchronizationManager.hasResource(this)) {
+      return;
+    }
+    TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(MemberDataVersion.this);
+            version.incrementAndGet();
+          }
+        });
+  }
+}
@@ -0,0 +1,48 @@
+package study.querydsl.repository.support;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+// Member/Team 저장, 변경, 삭제 시 데이터 버전을 올린다. (트랜잭션이 끝난 뒤 반영)
+@Component
+@RequiredArgsConstructor
+public class MemberDataVersionEventListener
+    implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+  private final MemberDataVersion dataVersion;
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    changed(event.getEntity());
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    changed(event.getEntity());
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    changed(event.getEntity());
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  private void changed(Object entity) {
+    if (entity instanceof Member || entity instanceof Team) {
+      dataVersion.changed();
+    }
+  }
+}
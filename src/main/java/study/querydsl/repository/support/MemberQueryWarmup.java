@@ -0,0 +1,163 @@
+package study.querydsl.repository.support;
+
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.core.Tuple;
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import study.querydsl.config.StartupGate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.repository.MemberJdbcRepository;
+import study.querydsl.repository.MemberJpaRepository;
+import study.querydsl.repository.MemberRepository;
+
+/**
+ * 기동 후 검색 쿼리 워밍업
+ *
+ * <p>검색 조건 조합(username, teamName, ageGoe, ageLoe 유무 16가지)마다 /v1, /v3 검색이 쓰는 쿼리를 여러 번
+ * 실행해서 JPQL 파싱, Hibernate 쿼리 플랜 캐시, prepared statement, JIT를 미리 데운다. (JIT는 반복 횟수가
+ * 충분할 때만) StartupGate로 실행하므로 끝날 때까지 readiness가 DOWN이다. 쿼리별 첫 실행/마지막 실행 시간을
+ * member.warmup.latency 게이지로 남긴다.
+ */
+@Slf4j
+@Component
+public class MemberQueryWarmup {
+
+  private final MemberJpaRepository memberJpaRepository;
+  private final MemberRepository memberRepository;
+  private final MemberJdbcRepository memberJdbcRepository;
+  private final JPAQueryFactory queryFactory;
+  private final StartupGate startupGate;
+  private final MeterRegistry meterRegistry;
+  private final int iterations;
+  private final long maxRows;
+
+  // (query, shape, stage) -> 마지막 워밍업의 실행 시간(ns). 게이지는 처음 한 번만 등록하고 값만 바꾼다.
+  // (같은 이름/태그로 다시 등록하면 처음 등록한 게이지가 그대로 반환되어 값이 갱신되지 않는다)
+  private final Map<String, AtomicLong> latencies = new ConcurrentHashMap<>();
+
+  public MemberQueryWarmup(
+      MemberJpaRepository memberJpaRepository,
+      MemberRepository memberRepository,
+      MemberJdbcRepository memberJdbcRepository,
+      JPAQueryFactory queryFactory,
+      StartupGate startupGate,
+      MeterRegistry meterRegistry,
+      @Value("${member.warmup.iterations:0}") int iterations,
+      @Value("${member.search.max-rows:10000}") long maxRows) {
+    this.memberJpaRepository = memberJpaRepository;
+    this.memberRepository = memberRepository;
+    this.memberJdbcRepository = memberJdbcRepository;
+    this.queryFactory = queryFactory;
+    this.startupGate = startupGate;
+    this.meterRegistry = meterRegistry;
+    this.iterations = iterations;
+    this.maxRows = maxRows;
+  }
+
+  // 데이터 적재(InitMember) 작업 뒤에 실행되도록 나중에 등록한다.
+  @Order(Ordered.LOWEST_PRECEDENCE)
+  @EventListener(ApplicationReadyEvent.class)
+  public void warmupOnStartup() {
+    if (iterations > 0) {
+      startupGate.run("warmup", this::warmup);
+    }
+  }
+
+  public void warmup() {
+    List<MemberSearchCondition> conditions = conditions();
+    PageRequest pageRequest = PageRequest.of(0, 20);
+    // 한 행짜리 페이지는 거의 항상 꽉 차므로 count 쿼리까지 실행된다.
+    PageRequest countedPage = PageRequest.of(0, 1);
+    for (MemberSearchCondition condition : conditions) {
+      String shape = RepositoryCallEvent.shapeOf(condition);
+      // /v1은 행 수 제한을 확인하려고 maxRows + 1 행까지만 조회한다.
+      run("v1-jpa", shape, condition, c -> memberJpaRepository.search(c, maxRows + 1));
+      run("v1-jdbc", shape, condition, c -> memberJdbcRepository.search(c, maxRows + 1));
+      run("v3", shape, condition, c -> memberRepository.searchPageComplex(c, pageRequest));
+      run("v3-count", shape, condition, c -> memberRepository.searchPageComplex(c, countedPage));
+    }
+    log.info("query warmup finished: {} shapes x {} iterations", conditions.size(), iterations);
+  }
+
+  private void run(
+      String query,
+      String shape,
+      MemberSearchCondition condition,
+      Consumer<MemberSearchCondition> call) {
+    long first = 0;
+    long last = 0;
+    for (int i = 0; i < iterations; i++) {
+      long start = System.nanoTime();
+      call.accept(condition);
+      last = System.nanoTime() - start;
+      if (i == 0) {
+        first = last;
+      }
+    }
+    register(query, shape, "first", first);
+    register(query, shape, "last", last);
+  }
+
+  private void register(String query, String shape, String stage, long nanos) {
+    latencies
+        .computeIfAbsent(
+            query + "|" + shape + "|" + stage,
+            key -> {
+              AtomicLong latency = new AtomicLong();
+              Gauge.builder(
+                      "member.warmup.latency",
+                      latency,
+                      value -> value.get() / (double) TimeUnit.MILLISECONDS.toNanos(1))
+                  .description("query latency of the first/last warm-up iteration")
+                  .baseUnit("milliseconds")
+                  .tag("query", query)
+                  .tag("shape", shape)
+                  .tag("stage", stage)
+                  .register(meterRegistry);
+              return latency;
+            })
+        .set(nanos);
+  }
+
+  // 실제 데이터의 값을 써야 존재하지 않는 팀명 조건처럼 쿼리 없이 끝나는 경우가 생기지 않는다.
+  private List<MemberSearchCondition> conditions() {
+    Tuple sample =
+        queryFactory
+            .select(member.username, member.age, team.name)
+            .from(member)
+            .join(member.team, team)
+            .fetchFirst();
+    String username = sample != null ? sample.get(member.username) : "member0";
+    int age = sample != null ? sample.get(member.age) : 10;
+    String teamName = sample != null ? sample.get(team.name) : "teamA";
+
+    List<MemberSearchCondition> conditions = new ArrayList<>();
+    for (int mask = 0; mask < 16; mask++) {
+      MemberSearchCondition condition = new MemberSearchCondition();
+      condition.setUsername((mask & 1) != 0 ? username : null);
+      condition.setTeamName((mask & 2) != 0 ? teamName : null);
+      condition.setAgeGoe((mask & 4) != 0 ? Math.max(age - 10, 1) : null);
+      condition.setAgeLoe((mask & 8) != 0 ? age + 10 : null);
+      conditions.add(condition);
+    }
+    return conditions;
+  }
+}
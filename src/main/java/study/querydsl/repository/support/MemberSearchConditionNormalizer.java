@@ -0,0 +1,97 @@
+package study.querydsl.repository.support;
+
+import static org.springframework.util.StringUtils.hasText;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQueryFactory;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import study.querydsl.dto.MemberSearchCondition;
+
+/**
+ * 회원 검색 조건 정규화/검증
+ *
+ * <p>결과가 없을 것이 확실한 조건(ageGoe > ageLoe, 음수 나이 상한, 존재하지 않는 팀명)이면
+ * {@link Optional#empty()}를 반환해서 리포지토리가 join/count 쿼리를 실행하지 않게 한다.
+ * 같은 의미의 조건은 같은 객체로 정규화해서 캐시 키로 쓸 수 있게 한다.
+ */
+@Component
+@RequiredArgsConstructor
+public class MemberSearchConditionNormalizer {
+
+  // 캐시 크기 상한. 넘으면 비우고 다시 채운다.
+  private static final int MAX_CACHED_NAMES = 10_000;
+
+  private final JPAQueryFactory queryFactory;
+  private final MemberDataVersion dataVersion;
+
+  // 있는 것으로 확인된 팀명. 삭제/변경된 팀명이 남아 있어도 쿼리가 실행될 뿐 결과가 틀리지는 않는다.
+  private final Set<String> knownTeamNames = ConcurrentHashMap.newKeySet();
+
+  // 없는 것으로 확인된 팀명 -> 확인하기 전의 데이터 버전. 그 뒤 member/team이 바뀌었으면(버전이 다르면) 다시 확인한다.
+  private final Map<String, Long> unknownTeamNames = new ConcurrentHashMap<>();
+
+  public Optional<MemberSearchCondition> normalize(MemberSearchCondition condition) {
+    String username = hasText(condition.getUsername()) ? condition.getUsername() : null;
+    String teamName = hasText(condition.getTeamName()) ? condition.getTeamName() : null;
+    Integer ageGoe = condition.getAgeGoe();
+    Integer ageLoe = condition.getAgeLoe();
+
+    // 나이는 음수가 될 수 없으므로 0 이하의 하한(age >= 0)은 조건이 없는 것과 같다.
+    if (ageGoe != null && ageGoe <= 0) {
+      ageGoe = null;
+    }
+    if (ageLoe != null && ageLoe < 0) {
+      return Optional.empty();
+    }
+    if (ageGoe != null && ageLoe != null && ageGoe > ageLoe) {
+      return Optional.empty();
+    }
+    if (teamName != null && !teamExists(teamName)) {
+      return Optional.empty();
+    }
+
+    MemberSearchCondition normalized = new MemberSearchCondition();
+    normalized.setUsername(username);
+    normalized.setTeamName(teamName);
+    normalized.setAgeGoe(ageGoe);
+    normalized.setAgeLoe(ageLoe);
+    return Optional.of(normalized);
+  }
+
+  private boolean teamExists(String teamName) {
+    if (knownTeamNames.contains(teamName)) {
+      return true;
+    }
+    // 쓰기 트랜잭션 안에서는 아직 flush/커밋되지 않은 팀이 있을 수 있으므로 없는 팀 캐시를 쓰지 않는다.
+    boolean useUnknownCache =
+        !TransactionSynchronizationManager.isActualTransactionActive()
+            || TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    long version = dataVersion.current();
+    Long unknownAt = unknownTeamNames.get(teamName);
+    if (useUnknownCache && unknownAt != null && unknownAt == version) {
+      return false;
+    }
+    // 팀명 하나만 확인한다. (팀 테이블만 읽으므로 회원 join보다 싸다)
+    boolean exists =
+        queryFactory.selectOne().from(team).where(team.name.eq(teamName)).fetchFirst() != null;
+    if (exists) {
+      unknownTeamNames.remove(teamName);
+      if (knownTeamNames.size() >= MAX_CACHED_NAMES) {
+        knownTeamNames.clear();
+      }
+      knownTeamNames.add(teamName);
+    } else if (useUnknownCache) {
+      if (unknownTeamNames.size() >= MAX_CACHED_NAMES) {
+        unknownTeamNames.clear();
+      }
+      unknownTeamNames.put(teamName, version);
+    }
+    return exists;
+  }
+}
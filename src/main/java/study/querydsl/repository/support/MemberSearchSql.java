@@ -0,0 +1,77 @@
+package study.querydsl.repository.support;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+import study.querydsl.dto.MemberSearchCondition;
+
+/**
+ * MemberRepositoryImpl의 검색 조건(usernameEq, teamNameEq, ageGoe, ageLoe)과 같은 의미의 SQL
+ *
+ * <p>ORM을 거치지 않는 조회(JDBC 등)에서 사용한다. null/빈 조건은 무시하고, 팀명 조건이 없으면 count에서 team join을 생략한다.
+ */
+public final class MemberSearchSql {
+
+  public static final String SELECT =
+      "select m.member_id, m.username, m.age, t.id, t.name"
+          + " from member m left join team t on t.id = m.team_id";
+
+  private final String where;
+  private final List<Object> params;
+  private final boolean teamFilter;
+
+  private MemberSearchSql(String where, List<Object> params, boolean teamFilter) {
+    this.where = where;
+    this.params = params;
+    this.teamFilter = teamFilter;
+  }
+
+  public static MemberSearchSql of(MemberSearchCondition condition) {
+    return of(condition, index -> "?");
+  }
+
+  // bindMarker: 0부터 시작하는 파라미터 순서 -> 드라이버의 바인드 마커 (JDBC는 ?, R2DBC H2는 $1, $2 ...)
+  public static MemberSearchSql of(
+      MemberSearchCondition condition, IntFunction<String> bindMarker) {
+    List<String> predicates = new ArrayList<>();
+    List<Object> params = new ArrayList<>();
+    if (hasText(condition.getUsername())) {
+      predicates.add("m.username = " + bindMarker.apply(params.size()));
+      params.add(condition.getUsername());
+    }
+    if (hasText(condition.getTeamName())) {
+      predicates.add("t.name = " + bindMarker.apply(params.size()));
+      params.add(condition.getTeamName());
+    }
+    if (condition.getAgeGoe() != null) {
+      predicates.add("m.age >= " + bindMarker.apply(params.size()));
+      params.add(condition.getAgeGoe());
+    }
+    if (condition.getAgeLoe() != null) {
+      predicates.add("m.age <= " + bindMarker.apply(params.size()));
+      params.add(condition.getAgeLoe());
+    }
+    String where = predicates.isEmpty() ? "" : " where " + String.join(" and ", predicates);
+    return new MemberSearchSql(where, params, hasText(condition.getTeamName()));
+  }
+
+  public String selectSql() {
+    return SELECT + where;
+  }
+
+  public String countSql() {
+    return "select count(*) from member m"
+        + (teamFilter ? " left join team t on t.id = m.team_id" : "")
+        + where;
+  }
+
+  public String getWhere() {
+    return where;
+  }
+
+  public List<Object> getParams() {
+    return params;
+  }
+}
@@ -0,0 +1,61 @@
+package study.querydsl.repository.support;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberSearchViewRepository;
+
+// Member 저장/변경/삭제와 팀명 변경을 member_search_view에 반영한다.
+@Component
+@RequiredArgsConstructor
+public class MemberSearchViewEventListener
+    implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+  private final MemberSearchViewRepository searchViewRepository;
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof Member) {
+      searchViewRepository.refresh(List.of((Long) event.getId()));
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (event.getEntity() instanceof Member) {
+      searchViewRepository.refresh(List.of((Long) event.getId()));
+    } else if (event.getEntity() instanceof Team) {
+      int nameIndex = Arrays.asList(event.getPersister().getPropertyNames()).indexOf("name");
+      String newName = (String) event.getState()[nameIndex];
+      if (event.getOldState() == null
+          || !Objects.equals(event.getOldState()[nameIndex], newName)) {
+        searchViewRepository.teamRenamed((Long) event.getId(), newName);
+      }
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Member) {
+      searchViewRepository.delete((Long) event.getId());
+    } else if (event.getEntity() instanceof Team) {
+      searchViewRepository.teamDeleted((Long) event.getId());
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+}
@@ -1,13 +1,33 @@
 package study.querydsl.repository.support;
 
+import com.querydsl.core.DefaultQueryMetadata;
+import com.querydsl.core.JoinExpression;
+import com.querydsl.core.JoinFlag;
+import com.querydsl.core.QueryMetadata;
+import com.querydsl.core.types.CollectionExpression;
 import com.querydsl.core.types.EntityPath;
 import com.querydsl.core.types.Expression;
+import com.querydsl.core.types.MapExpression;
+import com.querydsl.core.types.Operation;
+import com.querydsl.core.types.Ops;
+import com.querydsl.core.types.OrderSpecifier;
+import com.querydsl.core.types.ParamExpression;
+import com.querydsl.core.types.Path;
 import com.querydsl.core.types.dsl.PathBuilder;
+import com.querydsl.jpa.JPAQueryMixin;
 import com.querydsl.jpa.impl.JPAQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceUnitUtil;
+import jakarta.persistence.metamodel.Attribute;
+import jakarta.persistence.metamodel.ManagedType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cglib.core.internal.Function;
 import org.springframework.data.domain.Page;
@@ -80,18 +100,224 @@ public abstract class Querydsl4RepositorySupport {
 
   protected <T> Page<T> applyPagination(
       Pageable pageable, Function<JPAQueryFactory, JPAQuery> contentQuery) {
+    return RepositoryCallEvent.record(
+        "Querydsl4RepositorySupport.applyPagination",
+        domainClass.getSimpleName(),
+        () -> fetchPage(pageable, contentQuery));
+  }
+
+  protected <T> Page<T> applyPagination(
+      Pageable pageable,
+      Function<JPAQueryFactory, JPAQuery> contentQuery,
+      Function<JPAQueryFactory, JPAQuery> countQuery) {
+    return RepositoryCallEvent.record(
+        "Querydsl4RepositorySupport.applyPagination",
+        domainClass.getSimpleName(),
+        () -> fetchPage(pageable, contentQuery, countQuery));
+  }
+
+  private <T> Page<T> fetchPage(
+      Pageable pageable, Function<JPAQueryFactory, JPAQuery> contentQuery) {
     JPAQuery jpaQuery = contentQuery.apply(getQueryFactory());
+    if (isTwoPhaseRequired(jpaQuery)) {
+      JPAQuery<?> countQuery = withoutFetchJoins(jpaQuery, false);
+      List<T> content = fetchTwoPhase(pageable, jpaQuery);
+      return PageableExecutionUtils.getPage(
+          content, pageable, () -> countRoots(countQuery, rootOf(jpaQuery)));
+    }
     List<T> content = getQuerydsl().applyPagination(pageable, jpaQuery).fetch();
     return PageableExecutionUtils.getPage(content, pageable, jpaQuery::fetchCount);
   }
 
-  protected <T> Page<T> applyPagination(
+  private <T> Page<T> fetchPage(
       Pageable pageable,
       Function<JPAQueryFactory, JPAQuery> contentQuery,
       Function<JPAQueryFactory, JPAQuery> countQuery) {
     JPAQuery jpaContentQuery = contentQuery.apply(getQueryFactory());
-    List<T> content = getQuerydsl().applyPagination(pageable, jpaContentQuery).fetch();
+    List<T> content =
+        isTwoPhaseRequired(jpaContentQuery)
+            ? fetchTwoPhase(pageable, jpaContentQuery)
+            : getQuerydsl().applyPagination(pageable, jpaContentQuery).fetch();
     JPAQuery countResult = countQuery.apply(getQueryFactory());
     return PageableExecutionUtils.getPage(content, pageable, countResult::fetchCount);
   }
+
+  // 컬렉션을 fetch join한 쿼리에 offset/limit을 걸면 Hibernate가 전체 row를 읽은 뒤 메모리에서 페이징한다.
+  // 루트 엔티티를 조회하는 쿼리에 컬렉션 fetch join이 있으면 2단계로 나눠서 조회한다.
+  private boolean isTwoPhaseRequired(JPAQuery<?> query) {
+    QueryMetadata metadata = query.getMetadata();
+    if (metadata.getJoins().isEmpty() || !rootOf(query).equals(metadata.getProjection())) {
+      return false;
+    }
+    for (JoinExpression join : metadata.getJoins()) {
+      if (join.hasFlag(JPAQueryMixin.FETCH) && isCollection(join.getTarget())) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private boolean isCollection(Expression<?> target) {
+    // join(team.members, member) 처럼 별칭을 주면 ALIAS 연산으로 감싸져 있다.
+    if (target instanceof Operation<?> operation && operation.getOperator() == Ops.ALIAS) {
+      target = operation.getArg(0);
+    }
+    return target instanceof CollectionExpression || target instanceof MapExpression;
+  }
+
+  // 1단계: fetch join을 뺀 쿼리로 루트 id만 페이징해서 조회
+  // 2단계: 해당 id들의 엔티티를 연관관계와 함께 조회한 뒤 1단계 순서대로 정렬
+  // 호출한 쪽의 쿼리는 바꾸지 않는다. (같은 쿼리를 다시 써도 id 조건이 남지 않도록 복사본에 조건을 건다)
+  private <T> List<T> fetchTwoPhase(Pageable pageable, JPAQuery<?> query) {
+    EntityPath<?> root = rootOf(query);
+    PathBuilder<Object> id = idPath(root);
+
+    JPAQuery<?> idQuery = withoutFetchJoins(query, true);
+    getQuerydsl().applySorting(pageable.getSort(), idQuery);
+    Set<Expression<?>> collectionAliases = collectionAliases(query);
+    for (OrderSpecifier<?> order : idQuery.getMetadata().getOrderBy()) {
+      checkSortable(order.getTarget(), collectionAliases);
+    }
+    // distinct와 order by를 함께 쓰려면 정렬 대상이 select 절에 있어야 한다.
+    List<Expression<?>> select = new ArrayList<>();
+    select.add(id);
+    for (OrderSpecifier<?> order : idQuery.getMetadata().getOrderBy()) {
+      if (!select.contains(order.getTarget())) {
+        select.add(order.getTarget());
+      }
+    }
+    List<Object> ids =
+        idQuery
+            .select(select.toArray(new Expression<?>[0]))
+            .distinct()
+            .offset(pageable.getOffset())
+            .limit(pageable.getPageSize())
+            .fetch()
+            .stream()
+            .map(row -> row.get(id))
+            .distinct()
+            .toList();
+    if (ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    List<T> rows = (List<T>) query.clone().where(id.in(ids)).fetch();
+    PersistenceUnitUtil util = entityManager.getEntityManagerFactory().getPersistenceUnitUtil();
+    Map<Object, T> byId = new HashMap<>();
+    for (T row : rows) {
+      byId.putIfAbsent(util.getIdentifier(row), row);
+    }
+    List<T> content = new ArrayList<>(ids.size());
+    for (Object rowId : ids) {
+      T row = byId.get(rowId);
+      if (row != null) {
+        content.add(row);
+      }
+    }
+    return content;
+  }
+
+  // 컬렉션(to-many) 경로로 정렬하면 루트 하나가 정렬 값마다 여러 행이 되므로, 1단계에서 페이지 크기만큼 루트를 얻을 수 없다.
+  private void checkSortable(Expression<?> target, Set<Expression<?>> collectionAliases) {
+    if (target instanceof Operation<?> operation) {
+      operation.getArgs().forEach(arg -> checkSortable(arg, collectionAliases));
+      return;
+    }
+    if (target instanceof Path<?> path
+        && (collectionAliases.contains(path.getRoot()) || isToManyPath(path))) {
+      throw new IllegalArgumentException(
+          "Cannot page a collection fetch join sorted by a to-many path: " + path);
+    }
+  }
+
+  // join(team.members, member) 처럼 컬렉션을 조인한 별칭
+  private Set<Expression<?>> collectionAliases(JPAQuery<?> query) {
+    Set<Expression<?>> aliases = new HashSet<>();
+    for (JoinExpression join : query.getMetadata().getJoins()) {
+      if (join.getTarget() instanceof Operation<?> operation
+          && operation.getOperator() == Ops.ALIAS
+          && isCollection(operation.getArg(0))) {
+        aliases.add(operation.getArg(1));
+      }
+    }
+    return aliases;
+  }
+
+  // 루트부터 경로를 따라가면서 컬렉션 속성을 거치는지 확인한다. (예: Sort.by("members.username"))
+  private boolean isToManyPath(Path<?> path) {
+    List<String> names = new ArrayList<>();
+    Path<?> current = path;
+    while (current.getMetadata().getParent() != null) {
+      names.add(0, current.getMetadata().getName());
+      current = current.getMetadata().getParent();
+    }
+    ManagedType<?> type = managedType(current.getType());
+    for (String name : names) {
+      if (type == null) {
+        return false;
+      }
+      Attribute<?, ?> attribute = type.getAttribute(name);
+      if (attribute.isCollection()) {
+        return true;
+      }
+      type = managedType(attribute.getJavaType());
+    }
+    return false;
+  }
+
+  private ManagedType<?> managedType(Class<?> javaType) {
+    try {
+      return entityManager.getMetamodel().managedType(javaType);
+    } catch (IllegalArgumentException e) {
+      return null;
+    }
+  }
+
+  private long countRoots(JPAQuery<?> query, EntityPath<?> root) {
+    Long count = query.select(idPath(root).countDistinct()).fetchOne();
+    return count != null ? count : 0L;
+  }
+
+  private EntityPath<?> rootOf(JPAQuery<?> query) {
+    return (EntityPath<?>) query.getMetadata().getJoins().get(0).getTarget();
+  }
+
+  private PathBuilder<Object> idPath(EntityPath<?> root) {
+    String idName =
+        JpaEntityInformationSupport.getEntityInformation(root.getType(), entityManager)
+            .getIdAttribute()
+            .getName();
+    return new PathBuilder<>(root.getType(), root.getMetadata()).get(idName);
+  }
+
+  // 같은 조건(join, where, group by, keepOrder면 order by)을 유지하고 fetch 플래그만 뺀 새 쿼리
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  private JPAQuery<?> withoutFetchJoins(JPAQuery<?> query, boolean keepOrder) {
+    QueryMetadata source = query.getMetadata();
+    QueryMetadata copy = new DefaultQueryMetadata();
+    for (JoinExpression join : source.getJoins()) {
+      copy.addJoin(join.getType(), join.getTarget());
+      if (join.getCondition() != null) {
+        copy.addJoinCondition(join.getCondition());
+      }
+      for (JoinFlag flag : join.getFlags()) {
+        if (!flag.equals(JPAQueryMixin.FETCH)) {
+          copy.addJoinFlag(flag);
+        }
+      }
+    }
+    if (source.getWhere() != null) {
+      copy.addWhere(source.getWhere());
+    }
+    source.getGroupBy().forEach(copy::addGroupBy);
+    if (source.getHaving() != null) {
+      copy.addHaving(source.getHaving());
+    }
+    if (keepOrder) {
+      source.getOrderBy().forEach(copy::addOrderBy);
+    }
+    source.getParams().forEach((param, value) -> copy.setParam((ParamExpression) param, value));
+    return new JPAQuery<>(entityManager, copy);
+  }
 }
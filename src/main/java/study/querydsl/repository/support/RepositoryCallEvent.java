@@ -0,0 +1,125 @@
+package study.querydsl.repository.support;
+
+import static org.springframework.util.StringUtils.hasText;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.function.Supplier;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+import org.springframework.data.domain.Page;
+import study.querydsl.dto.MemberSearchCondition;
+
+/**
+ * 리포지토리 호출 JFR 이벤트
+ *
+ * <p>호출 전체 시간(duration) 중 JDBC 실행 시간(jdbcTime, p6spy로 측정)을 따로 기록한다. 나머지가 Querydsl 직렬화,
+ * Hibernate, 결과 변환에 쓴 시간이다. 같은 스레드의 {@link JdbcStatementEvent}와 중첩된 호출(getTotal 등)로 더
+ * 자세히 나눠 볼 수 있다. JFR 녹화 중이 아니면 {@link #isEnabled()}가 false라서 측정하지 않는다.
+ */
+@Name("study.querydsl.RepositoryCall")
+@Label("Repository Call")
+@Category({"Querydsl", "Repository"})
+@StackTrace(false)
+public class RepositoryCallEvent extends Event {
+
+  // 현재 스레드에서 진행 중인 호출들 (중첩 호출의 JDBC 시간은 바깥 호출에도 더해진다)
+  private static final ThreadLocal<Deque<RepositoryCallEvent>> CALLS =
+      ThreadLocal.withInitial(ArrayDeque::new);
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Query Shape")
+  @Description("검색 조건 중 값이 있는 항목")
+  String shape;
+
+  @Label("Rows")
+  @Description("조회한 행 수 (count 쿼리와 벌크 연산은 반환값)")
+  long rows;
+
+  @Label("JDBC Statements")
+  int jdbcStatements;
+
+  @Label("JDBC Time")
+  @Timespan
+  long jdbcTime;
+
+  public static <T> T record(String operation, String shape, Supplier<T> call) {
+    RepositoryCallEvent event = new RepositoryCallEvent();
+    if (!event.isEnabled()) {
+      return call.get();
+    }
+    event.operation = operation;
+    event.shape = shape;
+    Deque<RepositoryCallEvent> calls = CALLS.get();
+    calls.push(event);
+    event.begin();
+    try {
+      T result = call.get();
+      event.rows = rowsOf(result);
+      return result;
+    } finally {
+      event.end();
+      calls.pop();
+      RepositoryCallEvent outer = calls.peek();
+      if (outer != null) {
+        outer.jdbcStatements += event.jdbcStatements;
+        outer.jdbcTime += event.jdbcTime;
+      }
+      if (event.shouldCommit()) {
+        event.commit();
+      }
+    }
+  }
+
+  // JdbcStatementEventListener가 현재 스레드의 가장 안쪽 호출에 JDBC 실행 시간을 더한다.
+  static void jdbcExecuted(long elapsedNanos) {
+    RepositoryCallEvent current = CALLS.get().peek();
+    if (current != null) {
+      current.jdbcStatements++;
+      current.jdbcTime += elapsedNanos;
+    }
+  }
+
+  public static String shapeOf(MemberSearchCondition condition) {
+    StringJoiner shape = new StringJoiner(",");
+    if (hasText(condition.getUsername())) {
+      shape.add("username");
+    }
+    if (hasText(condition.getTeamName())) {
+      shape.add("teamName");
+    }
+    if (condition.getAgeGoe() != null) {
+      shape.add("ageGoe");
+    }
+    if (condition.getAgeLoe() != null) {
+      shape.add("ageLoe");
+    }
+    return shape.length() == 0 ? "all" : shape.toString();
+  }
+
+  private static long rowsOf(Object result) {
+    if (result instanceof Collection<?> collection) {
+      return collection.size();
+    }
+    if (result instanceof Page<?> page) {
+      return page.getNumberOfElements();
+    }
+    if (result instanceof Optional<?> optional) {
+      return optional.isPresent() ? 1 : 0;
+    }
+    if (result instanceof Number number) {
+      return number.longValue();
+    }
+    return result != null ? 1 : 0;
+  }
+}
@@ -0,0 +1,99 @@
+package study.querydsl.repository.support;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.stereotype.Component;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.TeamStatsRepository;
+
+// Member/Team 변경을 team_stats 요약 테이블에 증분으로 반영한다.
+@Component
+@RequiredArgsConstructor
+public class TeamStatsEventListener
+    implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+  private final TeamStatsRepository teamStatsRepository;
+
+  @Override
+  public void onPostInsert(PostInsertEvent event) {
+    if (event.getEntity() instanceof Team) {
+      teamStatsRepository.createEmpty((Long) event.getId());
+    } else if (event.getEntity() instanceof Member) {
+      Long teamId = teamId(event.getPersister(), event.getState());
+      if (teamId != null) {
+        teamStatsRepository.memberAdded(teamId, age(event.getPersister(), event.getState()));
+      }
+    }
+  }
+
+  @Override
+  public void onPostUpdate(PostUpdateEvent event) {
+    if (!(event.getEntity() instanceof Member)) {
+      return;
+    }
+    EntityPersister persister = event.getPersister();
+    Long newTeamId = teamId(persister, event.getState());
+    if (event.getOldState() == null) {
+      // detached 엔티티 merge 등으로 이전 상태를 알 수 없으면 새 팀만 다시 계산한다. 이전 팀은 정합성 검사에서 보정된다.
+      if (newTeamId != null) {
+        teamStatsRepository.recalculate(List.of(newTeamId));
+      }
+      return;
+    }
+
+    Long oldTeamId = teamId(persister, event.getOldState());
+    int oldAge = age(persister, event.getOldState());
+    int newAge = age(persister, event.getState());
+    if (Objects.equals(oldTeamId, newTeamId) && oldAge == newAge) {
+      return;
+    }
+    if (oldTeamId != null) {
+      teamStatsRepository.memberRemoved(oldTeamId, oldAge);
+    }
+    if (newTeamId != null) {
+      teamStatsRepository.memberAdded(newTeamId, newAge);
+    }
+  }
+
+  @Override
+  public void onPostDelete(PostDeleteEvent event) {
+    if (event.getEntity() instanceof Team) {
+      teamStatsRepository.delete((Long) event.getId());
+    } else if (event.getEntity() instanceof Member) {
+      Object[] deletedState = event.getDeletedState();
+      Long teamId = teamId(event.getPersister(), deletedState);
+      if (teamId != null) {
+        teamStatsRepository.memberRemoved(teamId, age(event.getPersister(), deletedState));
+      }
+    }
+  }
+
+  @Override
+  public boolean requiresPostCommitHandling(EntityPersister persister) {
+    return false;
+  }
+
+  private static Long teamId(EntityPersister persister, Object[] state) {
+    Team team = (Team) state[propertyIndex(persister, "team")];
+    // 프록시여도 getId()는 초기화하지 않는다.
+    return team != null ? team.getId() : null;
+  }
+
+  private static int age(EntityPersister persister, Object[] state) {
+    return (Integer) state[propertyIndex(persister, "age")];
+  }
+
+  private static int propertyIndex(EntityPersister persister, String property) {
+    return Arrays.asList(persister.getPropertyNames()).indexOf(property);
+  }
+}
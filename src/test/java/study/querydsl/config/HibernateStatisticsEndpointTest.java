@@ -0,0 +1,64 @@
+package study.querydsl.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.MemberJpaRepository;
+
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "member.hibernate-stats.mode=always"
+    })
+@Transactional
+class HibernateStatisticsEndpointTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired HibernateStatisticsEndpoint endpoint;
+  @Autowired MeterRegistry meterRegistry;
+
+  @Test
+  @SuppressWarnings("unchecked")
+  void statistics() {
+    endpoint.clear();
+    Team team = new Team("statsTeam");
+    em.persist(team);
+    em.persist(new Member("stats1", 10, team));
+    em.flush();
+    em.clear();
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("statsTeam");
+    memberJpaRepository.search(condition);
+    memberJpaRepository.search(condition);
+
+    Map<String, Object> result = endpoint.statistics(5);
+    assertThat(result).containsEntry("enabled", true);
+    Map<String, Object> session = (Map<String, Object>) result.get("session");
+    assertThat((Long) session.get("queryExecutionCount")).isGreaterThanOrEqualTo(2);
+    assertThat((Long) session.get("flushCount")).isGreaterThanOrEqualTo(1);
+    // 같은 쿼리를 두 번 실행했으므로 두 번째는 플랜 캐시에서 찾는다.
+    assertThat((Long) session.get("queryPlanCacheHitCount")).isGreaterThanOrEqualTo(1);
+
+    Map<String, Object> entities = (Map<String, Object>) result.get("entities");
+    assertThat((Map<String, Object>) entities.get("Member")).containsEntry("insertCount", 1L);
+    assertThat((Map<String, Object>) entities.get("Team")).containsEntry("insertCount", 1L);
+
+    List<Map<String, Object>> queries = (List<Map<String, Object>>) result.get("queries");
+    assertThat(queries).isNotEmpty().hasSizeLessThanOrEqualTo(5);
+
+    // hibernate-micrometer 미터
+    assertThat(meterRegistry.find("hibernate.statements").functionCounters()).isNotEmpty();
+  }
+}
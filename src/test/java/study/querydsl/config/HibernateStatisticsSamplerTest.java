@@ -0,0 +1,64 @@
+package study.querydsl.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+// sampling 모드에서는 엔티티 로딩마다 미터를 등록하지 않고, 수집 구간이 끝날 때 쿼리별 미터를 한 번 등록한다.
+class HibernateStatisticsSamplerTest {
+
+  static final String QUERY = "select m from Member m";
+
+  Statistics statistics;
+  SimpleMeterRegistry meterRegistry;
+  HibernateStatisticsSampler sampler;
+
+  @BeforeEach
+  void before() {
+    statistics = mock(Statistics.class);
+    SessionFactory sessionFactory = mock(SessionFactory.class);
+    EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+    when(sessionFactory.getStatistics()).thenReturn(statistics);
+
+    QueryStatistics queryStatistics = mock(QueryStatistics.class);
+    when(queryStatistics.getExecutionCount()).thenReturn(3L);
+    when(queryStatistics.getExecutionTotalTime()).thenReturn(30L);
+    when(statistics.getQueries()).thenReturn(new String[] {QUERY});
+    when(statistics.getQueryStatistics(QUERY)).thenReturn(queryStatistics);
+
+    meterRegistry = new SimpleMeterRegistry();
+    sampler =
+        new HibernateStatisticsSampler(
+            entityManagerFactory, meterRegistry, "sampling", Duration.ZERO);
+  }
+
+  @Test
+  void publishQueryMetricsAfterWindow() {
+    when(statistics.isStatisticsEnabled()).thenReturn(true);
+    sampler.init();
+    verify(statistics).setStatisticsEnabled(false);
+    assertThat(meterRegistry.find("hibernate.query.execution.total").meters()).isEmpty();
+
+    sampler.startSample();
+    sampler.endSample();
+    sampler.startSample();
+    sampler.endSample();
+
+    FunctionTimer timer =
+        meterRegistry.get("hibernate.query.execution.total").tag("query", QUERY).functionTimer();
+    assertThat(timer.count()).isEqualTo(3);
+    assertThat(meterRegistry.find("hibernate.query.execution.max").meters()).hasSize(1);
+  }
+}
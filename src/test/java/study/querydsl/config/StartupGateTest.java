@@ -0,0 +1,67 @@
+package study.querydsl.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Status;
+
+class StartupGateTest {
+
+  @Test
+  void closedUntilTasksFinish() throws Exception {
+    StartupGate gate = new StartupGate();
+    CountDownLatch release = new CountDownLatch(1);
+    CountDownLatch finished = new CountDownLatch(1);
+    try {
+      assertThat(gate.health().getStatus()).isEqualTo(Status.UP);
+
+      gate.run("seed", () -> awaitQuietly(release));
+      gate.run("warmup", finished::countDown);
+      assertThat(gate.isOpen()).isFalse();
+      assertThat(gate.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+      release.countDown();
+      assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+      // 마지막 작업의 pending 감소는 countDown 직후에 일어난다. (최대 5초 대기)
+      long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+      while (!gate.isOpen() && System.nanoTime() < deadline) {
+        Thread.sleep(1);
+      }
+      assertThat(gate.isOpen()).isTrue();
+      assertThat(gate.health().getStatus()).isEqualTo(Status.UP);
+      assertThat(gate.getCompleted()).containsOnlyKeys("seed", "warmup");
+    } finally {
+      gate.destroy();
+    }
+  }
+
+  @Test
+  void failedTaskKeepsGateClosed() throws Exception {
+    StartupGate gate = new StartupGate();
+    CountDownLatch finished = new CountDownLatch(1);
+    try {
+      gate.run(
+          "seed",
+          () -> {
+            throw new IllegalStateException("boom");
+          });
+      gate.run("after", finished::countDown);
+      assertThat(finished.await(5, TimeUnit.SECONDS)).isTrue();
+
+      assertThat(gate.isOpen()).isFalse();
+      assertThat(gate.health().getDetails()).containsEntry("failed", "seed");
+    } finally {
+      gate.destroy();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
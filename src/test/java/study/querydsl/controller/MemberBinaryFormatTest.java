@@ -0,0 +1,111 @@
+package study.querydsl.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import study.querydsl.dto.MemberTeamDto;
+
+class MemberBinaryFormatTest {
+
+  private final ObjectMapper json = new ObjectMapper();
+  private final ObjectMapper cbor = new CBORMapper();
+
+  @Test
+  void roundTrip() throws Exception {
+    List<MemberTeamDto> rows =
+        List.of(
+            new MemberTeamDto(1L, "member1", 10, 1L, "teamA"),
+            new MemberTeamDto(2L, "회원2", -1, null, null),
+            new MemberTeamDto(300L, null, Integer.MAX_VALUE, 1L, "teamA"),
+            new MemberTeamDto(Long.MAX_VALUE, "", Integer.MIN_VALUE, 2L, "teamB"));
+    Page<MemberTeamDto> page = new PageImpl<>(rows, PageRequest.of(2, 4), 100);
+
+    MemberBinaryFormat.Decoded decoded = MemberBinaryFormat.read(binary(page));
+
+    assertThat(decoded.content()).containsExactlyElementsOf(rows);
+    assertThat(decoded.totalElements()).isEqualTo(100);
+    assertThat(decoded.number()).isEqualTo(2);
+    assertThat(decoded.size()).isEqualTo(4);
+
+    MemberBinaryFormat.Decoded list = MemberBinaryFormat.read(binary(rows));
+    assertThat(list.content()).containsExactlyElementsOf(rows);
+    assertThat(list.totalElements()).isNull();
+  }
+
+  @Test
+  void smallerThanJsonAndCbor() throws Exception {
+    Page<MemberTeamDto> page = page(1000);
+
+    int binary = binary(page).available();
+    int cborSize = cbor.writeValueAsBytes(page).length;
+    int jsonSize = json.writeValueAsBytes(page).length;
+
+    assertThat(binary).isLessThan(cborSize);
+    assertThat(cborSize).isLessThan(jsonSize);
+  }
+
+  // 페이지(1000행) 하나를 직렬화할 때의 크기와 CPU 시간 비교 (./gradlew loadTest)
+  @Tag("load")
+  @Test
+  void benchmark() throws Exception {
+    Page<MemberTeamDto> page = page(1000);
+    int iterations = Integer.getInteger("load.serialize-iterations", 2000);
+
+    report("json", page, iterations, () -> json.writeValueAsBytes(page).length);
+    report("cbor", page, iterations, () -> cbor.writeValueAsBytes(page).length);
+    report("binary", page, iterations, () -> binary(page).available());
+  }
+
+  private interface Serializer {
+    int serialize() throws Exception;
+  }
+
+  private static void report(String name, Page<?> page, int iterations, Serializer serializer)
+      throws Exception {
+    ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    int bytes = 0;
+    // 앞의 절반은 워밍업
+    for (int i = 0; i < iterations / 2; i++) {
+      bytes = serializer.serialize();
+    }
+    long cpuStart = threads.getCurrentThreadCpuTime();
+    for (int i = 0; i < iterations; i++) {
+      bytes = serializer.serialize();
+    }
+    long cpuNanos = threads.getCurrentThreadCpuTime() - cpuStart;
+    System.out.printf(
+        "%-6s %8d bytes/page %6.1f bytes/row %8.1f us cpu/page%n",
+        name,
+        bytes,
+        (double) bytes / page.getNumberOfElements(),
+        cpuNanos / 1_000.0 / iterations);
+  }
+
+  private static Page<MemberTeamDto> page(int size) {
+    List<MemberTeamDto> rows = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      long teamId = i % 10 + 1;
+      rows.add(new MemberTeamDto(10_000L + i, "member" + i, i % 100, teamId, "team" + teamId));
+    }
+    return new PageImpl<>(rows, PageRequest.of(0, size), 100_000);
+  }
+
+  private static ByteArrayInputStream binary(Object value) throws Exception {
+    MockHttpOutputMessage message = new MockHttpOutputMessage();
+    new MemberBinaryHttpMessageConverter()
+        .write(value, null, MemberBinaryFormat.MEDIA_TYPE, message);
+    return new ByteArrayInputStream(message.getBodyAsBytes());
+  }
+}
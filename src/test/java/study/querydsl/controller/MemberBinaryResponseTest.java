@@ -0,0 +1,100 @@
+package study.querydsl.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberBinaryResponseTest {
+
+  @Autowired EntityManager em;
+  @Autowired MockMvc mockMvc;
+
+  @BeforeEach
+  void before() {
+    Team team = new Team("binaryTeam");
+    em.persist(team);
+    for (int i = 0; i < 5; i++) {
+      em.persist(new Member("binary" + i, 10 + i, team));
+    }
+    em.flush();
+  }
+
+  @Test
+  void listIsStreamed() throws Exception {
+    byte[] body =
+        mockMvc
+            .perform(
+                get("/v1/members")
+                    .param("teamName", "binaryTeam")
+                    .accept(MemberBinaryFormat.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MemberBinaryFormat.MEDIA_TYPE))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    MemberBinaryFormat.Decoded decoded = MemberBinaryFormat.read(new ByteArrayInputStream(body));
+    assertThat(decoded.content())
+        .extracting("username")
+        .containsExactlyInAnyOrder("binary0", "binary1", "binary2", "binary3", "binary4");
+    assertThat(decoded.content()).extracting("teamName").containsOnly("binaryTeam");
+  }
+
+  @Test
+  void page() throws Exception {
+    byte[] body =
+        mockMvc
+            .perform(
+                get("/v3/members")
+                    .param("teamName", "binaryTeam")
+                    .param("page", "1")
+                    .param("size", "2")
+                    .accept(MemberBinaryFormat.MEDIA_TYPE))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    MemberBinaryFormat.Decoded decoded = MemberBinaryFormat.read(new ByteArrayInputStream(body));
+    assertThat(decoded.content()).hasSize(2);
+    assertThat(decoded.totalElements()).isEqualTo(5);
+    assertThat(decoded.number()).isEqualTo(1);
+    assertThat(decoded.size()).isEqualTo(2);
+  }
+
+  @Test
+  void jsonStaysDefault() throws Exception {
+    mockMvc
+        .perform(get("/v1/members").param("teamName", "binaryTeam").accept(MediaType.ALL))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    mockMvc
+        .perform(get("/v3/members").param("teamName", "binaryTeam"))
+        .andExpect(status().isOk())
+        .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    mockMvc
+        .perform(
+            get("/v3/members")
+                .param("teamName", "binaryTeam")
+                .accept(MediaType.APPLICATION_CBOR))
+        .andExpect(status().isOk())
+        .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+  }
+}
@@ -0,0 +1,139 @@
+package study.querydsl.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import java.util.Collections;
+import java.util.concurrent.RejectedExecutionException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberCsvImporter;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerTest {
+
+  @Autowired EntityManager em;
+  @Autowired MockMvc mockMvc;
+  // import 자체는 MemberCsvImporterTest, MemberCsvImporterConcurrencyTest에서 확인한다.
+  @MockBean MemberCsvImporter memberCsvImporter;
+
+  @BeforeEach
+  void before() {
+    Team team = new Team("controllerTeam");
+    em.persist(team);
+    for (int i = 0; i < 3; i++) {
+      em.persist(new Member("controller" + i, 10 * (i + 1), team));
+    }
+    em.flush();
+  }
+
+  @Test
+  void fieldsV1() throws Exception {
+    mockMvc
+        .perform(
+            get("/v1/members")
+                .param("teamName", "controllerTeam")
+                .param("ageGoe", "20")
+                .param("fields", "username,age"))
+        .andExpect(status().isOk())
+        .andExpect(header().exists("ETag"))
+        .andExpect(jsonPath("$", hasSize(2)))
+        // 요청한 필드만 요청한 순서로 쓴다.
+        .andExpect(jsonPath("$[0].*", hasSize(2)))
+        .andExpect(jsonPath("$[0].username").exists())
+        .andExpect(jsonPath("$[0].age").exists())
+        .andExpect(jsonPath("$[0].memberId").doesNotExist())
+        .andExpect(jsonPath("$[0].teamName").doesNotExist());
+  }
+
+  @Test
+  void fieldsV3() throws Exception {
+    mockMvc
+        .perform(
+            get("/v3/members")
+                .param("teamName", "controllerTeam")
+                .param("fields", "memberId,teamName")
+                .param("page", "0")
+                .param("size", "2"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(2)))
+        .andExpect(jsonPath("$.content[0].teamName").value("controllerTeam"))
+        .andExpect(jsonPath("$.content[0].username").doesNotExist())
+        .andExpect(jsonPath("$.totalElements").value(3));
+  }
+
+  @Test
+  void unknownField() throws Exception {
+    mockMvc
+        .perform(get("/v1/members").param("fields", "username,password"))
+        .andExpect(status().isBadRequest())
+        // 오류 응답에는 ETag를 붙이지 않는다.
+        .andExpect(header().doesNotExist("ETag"));
+    mockMvc
+        .perform(get("/v3/members").param("fields", ""))
+        .andExpect(status().isBadRequest());
+  }
+
+  // 배치 검색은 전용 스레드에서 실행되어 테스트 트랜잭션의 데이터를 볼 수 없으므로, DB를 조회하지 않는 조건만 쓴다.
+  // (중복 제거와 순서는 MemberBatchSearcherTest)
+  @Test
+  void batch() throws Exception {
+    mockMvc
+        .perform(
+            post("/v1/members/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"ageGoe\":40,\"ageLoe\":30},{\"ageLoe\":-1}]"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)))
+        .andExpect(jsonPath("$[0]", hasSize(0)))
+        .andExpect(jsonPath("$[1]", hasSize(0)));
+  }
+
+  @Test
+  void batchTooLarge() throws Exception {
+    String conditions = "[" + String.join(",", Collections.nCopies(51, "{}")) + "]";
+    mockMvc
+        .perform(
+            post("/v1/members/batch").contentType(MediaType.APPLICATION_JSON).content(conditions))
+        .andExpect(status().isBadRequest());
+  }
+
+  // 조건 목록에 null이 있으면 500이 아니라 400
+  @Test
+  void batchNullCondition() throws Exception {
+    mockMvc
+        .perform(
+            post("/v1/members/batch").contentType(MediaType.APPLICATION_JSON).content("[{},null]"))
+        .andExpect(status().isBadRequest());
+  }
+
+  // 동시에 진행 중인 import가 max-concurrent를 넘으면 503
+  @Test
+  void importTooManyConcurrent() throws Exception {
+    when(memberCsvImporter.importCsv(any()))
+        .thenThrow(new RejectedExecutionException("member import writers busy"));
+    mockMvc
+        .perform(
+            post("/v1/members/import").contentType("text/csv").content("username,age,teamName
+"))
+        .andExpect(status().isServiceUnavailable());
+  }
+}
@@ -0,0 +1,70 @@
+package study.querydsl.controller;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+// 페이징 없는 /v1 검색은 member.search.max-rows 행까지만 돌려주고, 넘으면 400
+@SpringBootTest(properties = "member.search.max-rows=2")
+@AutoConfigureMockMvc
+@Transactional
+class MemberRowBudgetTest {
+
+  @Autowired EntityManager em;
+  @Autowired MockMvc mockMvc;
+
+  @BeforeEach
+  void before() {
+    Team team = new Team("budgetTeam");
+    em.persist(team);
+    for (int i = 0; i < 3; i++) {
+      em.persist(new Member("budget" + i, 10 * (i + 1), team));
+    }
+    em.flush();
+  }
+
+  @Test
+  void withinBudget() throws Exception {
+    mockMvc
+        .perform(get("/v1/members").param("teamName", "budgetTeam").param("ageGoe", "20"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$", hasSize(2)));
+  }
+
+  @Test
+  void overBudget() throws Exception {
+    mockMvc
+        .perform(get("/v1/members").param("teamName", "budgetTeam"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(get("/v1/members").param("teamName", "budgetTeam").param("fields", "username"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            get("/v1/members")
+                .param("teamName", "budgetTeam")
+                .accept(MemberBinaryFormat.MEDIA_TYPE))
+        .andExpect(status().isBadRequest());
+  }
+
+  // 페이징 검색은 제한을 받지 않는다.
+  @Test
+  void pagedSearchIsNotLimited() throws Exception {
+    mockMvc
+        .perform(get("/v3/members").param("teamName", "budgetTeam").param("size", "10"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.content", hasSize(3)));
+  }
+}
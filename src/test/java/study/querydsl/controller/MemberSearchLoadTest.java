@@ -0,0 +1,174 @@
+package study.querydsl.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.SpringBootTest.WebEnvironment;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+/**
+ * /v1/members, /v3/members HTTP 부하 테스트 (./gradlew loadTest)
+ *
+ * <p>open-loop 방식: 응답을 기다리지 않고 정해진 시각마다 요청을 보내고, 지연 시간은 실제 전송 시각이 아닌 예정 시각부터
+ * 잰다. 서버가 밀려서 요청이 늦게 나가면 그만큼 지연에 포함된다(coordinated omission 보정).
+ *
+ * <p>설정(-D): load.members, load.rate(초당 요청), load.duration, load.warmup, load.p99-ms,
+ * load.max-error-rate
+ */
+@Tag("load")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@SpringBootTest(
+    webEnvironment = WebEnvironment.RANDOM_PORT,
+    properties = {"member.admission.max-concurrent=64", "logging.level.org.hibernate.SQL=info"})
+class MemberSearchLoadTest {
+
+  private static final int TEAMS = 10;
+
+  private static final int MEMBERS = Integer.getInteger("load.members", 20_000);
+  private static final int RATE = Integer.getInteger("load.rate", 200);
+  private static final Duration DURATION =
+      Duration.parse(System.getProperty("load.duration", "PT10S"));
+  private static final Duration WARMUP = Duration.parse(System.getProperty("load.warmup", "PT3S"));
+  private static final long P99_MILLIS = Long.getLong("load.p99-ms", 200);
+  private static final double MAX_ERROR_RATE =
+      Double.parseDouble(System.getProperty("load.max-error-rate", "0.01"));
+
+  @LocalServerPort int port;
+  @Autowired EntityManager em;
+  @Autowired TransactionTemplate transactionTemplate;
+
+  private final HttpClient client =
+      HttpClient.newBuilder()
+          .executor(Executors.newVirtualThreadPerTaskExecutor())
+          .connectTimeout(Duration.ofSeconds(5))
+          .build();
+
+  @BeforeAll
+  void seed() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          List<Team> teams = new ArrayList<>();
+          for (int i = 0; i < TEAMS; i++) {
+            Team team = new Team("loadTeam" + i);
+            em.persist(team);
+            teams.add(team);
+          }
+          for (int i = 0; i < MEMBERS; i++) {
+            em.persist(new Member("loadMember" + i, i % 100, teams.get(i % TEAMS)));
+            if (i % 1000 == 999) {
+              em.flush();
+              em.clear();
+              teams.replaceAll(team -> em.getReference(Team.class, team.getId()));
+            }
+          }
+        });
+  }
+
+  @Test
+  void searchV1() throws Exception {
+    run(
+        "/v1/members",
+        List.of(
+            "/v1/members?username=loadMember42",
+            "/v1/members?teamName=loadTeam3&ageGoe=20&ageLoe=25",
+            "/v1/members?ageGoe=50&ageLoe=50",
+            "/v1/members?teamName=loadTeam7&ageLoe=10"));
+  }
+
+  @Test
+  void searchV3() throws Exception {
+    run(
+        "/v3/members",
+        List.of(
+            "/v3/members?page=0&size=20",
+            "/v3/members?teamName=loadTeam1&page=3&size=20",
+            "/v3/members?ageGoe=30&ageLoe=60&page=0&size=50",
+            "/v3/members?username=loadMember7&page=0&size=20"));
+  }
+
+  private void run(String name, List<String> mix) throws Exception {
+    // 워밍업 구간은 버리고 본 측정만 기록한다.
+    drive(mix, WARMUP, new ConcurrentHistogram(3), new AtomicLong());
+
+    Histogram histogram = new ConcurrentHistogram(3);
+    AtomicLong errors = new AtomicLong();
+    long started = System.nanoTime();
+    long sent = drive(mix, DURATION, histogram, errors);
+    double seconds = (System.nanoTime() - started) / 1e9;
+
+    System.out.printf(
+        "[load] %s rate=%d/s requests=%d errors=%d throughput=%.1f/s"
+            + " p50=%.2fms p90=%.2fms p99=%.2fms p99.9=%.2fms max=%.2fms%n",
+        name,
+        RATE,
+        sent,
+        errors.get(),
+        histogram.getTotalCount() / seconds,
+        millis(histogram.getValueAtPercentile(50)),
+        millis(histogram.getValueAtPercentile(90)),
+        millis(histogram.getValueAtPercentile(99)),
+        millis(histogram.getValueAtPercentile(99.9)),
+        millis(histogram.getMaxValue()));
+
+    assertThat((double) errors.get() / sent).isLessThanOrEqualTo(MAX_ERROR_RATE);
+    assertThat(millis(histogram.getValueAtPercentile(99))).isLessThanOrEqualTo(P99_MILLIS);
+  }
+
+  private long drive(List<String> mix, Duration duration, Histogram histogram, AtomicLong errors)
+      throws InterruptedException {
+    long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+    int total = (int) (duration.toNanos() / intervalNanos);
+    CountDownLatch done = new CountDownLatch(total);
+    long start = System.nanoTime();
+    for (int i = 0; i < total; i++) {
+      long intended = start + i * intervalNanos;
+      long wait = intended - System.nanoTime();
+      if (wait > 0) {
+        LockSupport.parkNanos(wait);
+      }
+      HttpRequest request =
+          HttpRequest.newBuilder(URI.create("http://localhost:" + port + mix.get(i % mix.size())))
+              .timeout(Duration.ofSeconds(10))
+              .build();
+      client
+          .sendAsync(request, HttpResponse.BodyHandlers.discarding())
+          .whenComplete(
+              (response, e) -> {
+                histogram.recordValue(System.nanoTime() - intended);
+                if (e != null || response.statusCode() != 200) {
+                  errors.incrementAndGet();
+                }
+                done.countDown();
+              });
+    }
+    done.await(1, TimeUnit.MINUTES);
+    return total;
+  }
+
+  private static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
@@ -0,0 +1,37 @@
+package study.querydsl.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+class SearchAdmissionInterceptorTest {
+
+  @Test
+  void rejectWhenFull() throws Exception {
+    SearchAdmissionInterceptor interceptor =
+        new SearchAdmissionInterceptor(1, Duration.ofMillis(10));
+    HandlerMethod handler =
+        new HandlerMethod(new Object(), Object.class.getMethod("toString"));
+
+    MockHttpServletRequest first = new MockHttpServletRequest("GET", "/v1/members");
+    assertThat(interceptor.preHandle(first, new MockHttpServletResponse(), handler)).isTrue();
+
+    // 자리가 없으면 queue-timeout 이후 503
+    MockHttpServletRequest second = new MockHttpServletRequest("GET", "/v1/members");
+    MockHttpServletResponse rejected = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(second, rejected, handler)).isFalse();
+    assertThat(rejected.getStatus()).isEqualTo(503);
+    // 거절된 요청의 afterCompletion은 허가를 반납하지 않는다.
+    interceptor.afterCompletion(second, rejected, handler, null);
+
+    interceptor.afterCompletion(first, new MockHttpServletResponse(), handler, null);
+    MockHttpServletRequest third = new MockHttpServletRequest("GET", "/v1/members");
+    assertThat(interceptor.preHandle(third, new MockHttpServletResponse(), handler)).isTrue();
+    MockHttpServletRequest fourth = new MockHttpServletRequest("GET", "/v1/members");
+    assertThat(interceptor.preHandle(fourth, new MockHttpServletResponse(), handler)).isFalse();
+  }
+}
@@ -0,0 +1,97 @@
+package study.querydsl.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import study.querydsl.repository.support.MemberDataVersion;
+
+class SearchEtagInterceptorTest {
+
+  MemberDataVersion dataVersion = new MemberDataVersion();
+  SearchEtagInterceptor interceptor = new SearchEtagInterceptor(dataVersion, true);
+
+  @Test
+  void notModifiedUntilDataChanges() throws Exception {
+    MockHttpServletRequest firstRequest = request(null);
+    MockHttpServletResponse first = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(firstRequest, first, null)).isTrue();
+    String etag = writeBody(firstRequest, first);
+    assertThat(etag).isNotNull();
+
+    // 같은 요청, 같은 버전이면 핸들러를 실행하지 않고 304
+    MockHttpServletResponse second = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(request(etag), second, null)).isFalse();
+    assertThat(second.getStatus()).isEqualTo(304);
+    assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+
+    // 조건이 다르면 다른 ETag
+    MockHttpServletRequest otherCondition = request(etag);
+    otherCondition.setQueryString("teamName=teamB");
+    MockHttpServletResponse third = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(otherCondition, third, null)).isTrue();
+    assertThat(writeBody(otherCondition, third)).isNotEqualTo(etag);
+
+    // 트랜잭션 밖에서는 바로 버전이 올라간다.
+    dataVersion.changed();
+    MockHttpServletRequest fourthRequest = request(etag);
+    MockHttpServletResponse fourth = new MockHttpServletResponse();
+    assertThat(interceptor.preHandle(fourthRequest, fourth, null)).isTrue();
+    assertThat(fourth.getStatus()).isEqualTo(200);
+    assertThat(writeBody(fourthRequest, fourth)).isNotEqualTo(etag);
+  }
+
+  // 오류 응답(400, 503)에는 ETag를 붙이지 않는다.
+  @Test
+  void noEtagOnError() throws Exception {
+    for (int status : new int[] {400, 503}) {
+      MockHttpServletRequest request = request(null);
+      MockHttpServletResponse response = new MockHttpServletResponse();
+      assertThat(interceptor.preHandle(request, response, null)).isTrue();
+      assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+
+      response.setStatus(status);
+      assertThat(writeBody(request, response)).isNull();
+    }
+  }
+
+  @Test
+  void disabled() throws Exception {
+    SearchEtagInterceptor disabled = new SearchEtagInterceptor(dataVersion, false);
+    MockHttpServletRequest request = request(null);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    assertThat(disabled.preHandle(request, response, null)).isTrue();
+    assertThat(disabled.supports(null, null)).isFalse();
+    assertThat(response.getHeader(HttpHeaders.ETAG)).isNull();
+  }
+
+  // 메시지 컨버터가 본문을 쓰기 직전의 처리를 흉내 내고 응답의 ETag를 돌려준다.
+  private String writeBody(MockHttpServletRequest request, MockHttpServletResponse response)
+      throws Exception {
+    ServletServerHttpResponse serverResponse = new ServletServerHttpResponse(response);
+    interceptor.beforeBodyWrite(
+        "body",
+        null,
+        MediaType.APPLICATION_JSON,
+        null,
+        new ServletServerHttpRequest(request),
+        serverResponse);
+    serverResponse.flush();
+    return response.getHeader(HttpHeaders.ETAG);
+  }
+
+  private static MockHttpServletRequest request(String ifNoneMatch) {
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/members");
+    request.setQueryString("teamName=teamA");
+    if (ifNoneMatch != null) {
+      request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+    }
+    return request;
+  }
+}
@@ -1,16 +1,23 @@
 package study.querydsl.entity;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
 import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
-@SpringBootTest
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "member.hibernate-stats.mode=always"
+    })
 @Transactional
-
 class MemberTest {
 
   @Autowired EntityManager em;
@@ -51,4 +58,73 @@ class MemberTest {
       System.out.println("member = " + member);
     }
   }
+
+  // 기준선(team.getMembers().add)은 프록시 팀의 getMembers() 호출로 팀 조회 쿼리가 나갔다.
+  @Test
+  public void changeTeamToProxyExecutesNoSql() {
+    Team teamA = new Team("teamA");
+    Team teamB = new Team("teamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    Member member1 = new Member("member1", 10, teamA);
+    em.persist(member1);
+    em.flush();
+    em.clear();
+
+    Member findMember = em.find(Member.class, member1.getId());
+    Team teamBProxy = em.getReference(Team.class, teamB.getId());
+    Statistics statistics = statistics();
+
+    findMember.changeTeam(teamBProxy);
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(statistics.getEntityLoadCount()).isZero();
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+    assertThat(Hibernate.isInitialized(teamBProxy)).isFalse();
+  }
+
+  @Test
+  public void changeTeamDoesNotLoadMembers() {
+    Team teamA = new Team("teamA");
+    Team teamB = new Team("teamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    Member member1 = new Member("member1", 10, teamA);
+    em.persist(member1);
+    em.flush();
+    em.clear();
+
+    Team findTeamA = em.find(Team.class, teamA.getId());
+    Team findTeamB = em.find(Team.class, teamB.getId());
+    Member findMember = em.find(Member.class, member1.getId());
+    Statistics statistics = statistics();
+
+    // 추가는 큐에 쌓이고, 제거는 초기화되지 않은 컬렉션을 건드리지 않는다.
+    Member member2 = new Member("member2", 20, findTeamA);
+    findMember.changeTeam(findTeamB);
+
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+    assertThat(statistics.getCollectionLoadCount()).isZero();
+
+    // 큐에 쌓인 add는 로딩할 때 반영되므로 flush 전에도 새 회원이 보인다.
+    em.persist(member2);
+    assertThat(findTeamA.getMembers()).contains(member2);
+    assertThat(statistics.getCollectionLoadCount()).isEqualTo(1);
+
+    em.flush();
+    em.clear();
+    assertThat(em.find(Team.class, teamA.getId()).getMembers())
+        .extracting("username")
+        .containsExactly("member2");
+    assertThat(em.find(Team.class, teamB.getId()).getMembers())
+        .extracting("username")
+        .containsExactly("member1");
+  }
+
+  private Statistics statistics() {
+    Statistics statistics =
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+    return statistics;
+  }
 }
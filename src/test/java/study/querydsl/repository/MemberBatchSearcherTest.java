@@ -0,0 +1,130 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.repository.support.MemberBatchSearcher;
+import study.querydsl.repository.support.MemberDataVersion;
+import study.querydsl.repository.support.MemberSearchConditionNormalizer;
+
+// 팀명 조건이 없는 조건만 쓰므로 정규화할 때 DB를 조회하지 않는다.
+class MemberBatchSearcherTest {
+
+  static final long LIMIT = 11;
+
+  MemberJpaRepository repository;
+  MemberBatchSearcher searcher;
+
+  @BeforeEach
+  void before() {
+    repository = mock(MemberJpaRepository.class);
+    // 조건의 ageGoe를 회원 나이로 돌려준다.
+    when(repository.searchNormalized(any(), anyLong()))
+        .thenAnswer(
+            invocation -> {
+              MemberSearchCondition condition = invocation.getArgument(0);
+              int age = condition.getAgeGoe() != null ? condition.getAgeGoe() : -1;
+              return List.of(new MemberTeamDto(1L, "member", age, null, null));
+            });
+    MemberSearchConditionNormalizer normalizer =
+        new MemberSearchConditionNormalizer(null, new MemberDataVersion());
+    searcher = new MemberBatchSearcher(repository, normalizer, 2, 10, 5);
+  }
+
+  @AfterEach
+  void after() {
+    searcher.shutdown();
+  }
+
+  @Test
+  void dedupeAndKeepOrder() {
+    List<List<MemberTeamDto>> results =
+        searcher.search(
+            List.of(ageGoe(20), ageGoe(10), ageGoe(20), impossible(), ageGoe(0), ageGoe(null)),
+            LIMIT);
+
+    assertThat(results).hasSize(6);
+    assertThat(results.get(0)).extracting("age").containsExactly(20);
+    assertThat(results.get(1)).extracting("age").containsExactly(10);
+    assertThat(results.get(2)).extracting("age").containsExactly(20);
+    assertThat(results.get(3)).isEmpty();
+    // ageGoe=0은 조건이 없는 것과 같으므로 한 번만 실행한다.
+    assertThat(results.get(4)).extracting("age").containsExactly(-1);
+    assertThat(results.get(5)).extracting("age").containsExactly(-1);
+
+    // 같은 조건은 한 번만, 정규화된 조건으로 실행한다.
+    verify(repository, times(1)).searchNormalized(ageGoe(20), LIMIT);
+    verify(repository, times(1)).searchNormalized(ageGoe(10), LIMIT);
+    verify(repository, times(1)).searchNormalized(ageGoe(null), LIMIT);
+    verify(repository, times(3)).searchNormalized(any(), anyLong());
+    verify(repository, never()).search(any());
+  }
+
+  @Test
+  void rejectOversizedBatch() {
+    List<MemberSearchCondition> conditions =
+        List.of(ageGoe(1), ageGoe(2), ageGoe(3), ageGoe(4), ageGoe(5), ageGoe(6));
+
+    assertThatThrownBy(() -> searcher.search(conditions, LIMIT))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(repository, never()).searchNormalized(any(), anyLong());
+  }
+
+  // 조건마다 limit 행까지만 조회한다.
+  @Test
+  void passLimit() {
+    searcher.search(List.of(ageGoe(10)), 3);
+
+    verify(repository).searchNormalized(ageGoe(10), 3);
+    verify(repository, never()).searchNormalized(any(), eq(LIMIT));
+  }
+
+  @Test
+  void rejectNullCondition() {
+    List<MemberSearchCondition> conditions = new ArrayList<>();
+    conditions.add(ageGoe(10));
+    conditions.add(null);
+
+    assertThatThrownBy(() -> searcher.search(conditions, LIMIT))
+        .isInstanceOf(IllegalArgumentException.class);
+    verify(repository, never()).searchNormalized(any(), anyLong());
+  }
+
+  @Test
+  void propagateFailure() {
+    when(repository.searchNormalized(ageGoe(30), LIMIT))
+        .thenThrow(new IllegalStateException("db down"));
+
+    assertThatThrownBy(() -> searcher.search(List.of(ageGoe(10), ageGoe(30)), LIMIT))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessage("db down");
+  }
+
+  private static MemberSearchCondition ageGoe(Integer ageGoe) {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setAgeGoe(ageGoe);
+    return condition;
+  }
+
+  private static MemberSearchCondition impossible() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setAgeGoe(40);
+    condition.setAgeLoe(30);
+    return condition;
+  }
+}
@@ -0,0 +1,100 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.MemberChangeEvent;
+import study.querydsl.entity.MemberChangeEvent.ChangeType;
+import study.querydsl.entity.MemberChangeEvent.EntityType;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberChangeListener;
+import study.querydsl.repository.support.MemberChangeOutboxPoller;
+
+@SpringBootTest
+@Transactional
+class MemberChangeOutboxTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired MemberChangeOutboxRepository outboxRepository;
+  @Autowired MemberChangeOutboxPoller outboxPoller;
+
+  @Test
+  void recordAndPublish() {
+    Team teamA = new Team("outboxTeamA");
+    Team teamB = new Team("outboxTeamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    Member member1 = new Member("outbox1", 10, teamA);
+    Member member2 = new Member("outbox2", 20, teamA);
+    em.persist(member1);
+    em.persist(member2);
+    em.flush();
+
+    member2.changeTeam(teamB);
+    em.flush();
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("outboxTeamA");
+    memberJpaRepository.bulkAddAge(condition, 1);
+
+    List<MemberChangeEvent> events = new ArrayList<>();
+    MemberChangeListener listener = events::addAll;
+    outboxPoller.addListener(listener);
+    try {
+      while (outboxPoller.poll() > 0) {}
+    } finally {
+      outboxPoller.removeListener(listener);
+    }
+
+    List<Long> memberIds = List.of(member1.getId(), member2.getId());
+    assertThat(events)
+        .filteredOn(e -> e.getEntityType() == EntityType.MEMBER)
+        .filteredOn(e -> memberIds.contains(e.getFromId()))
+        .extracting("changeType", "fromId", "toId")
+        .containsExactly(
+            tuple(ChangeType.INSERT, member1.getId(), member1.getId()),
+            tuple(ChangeType.INSERT, member2.getId(), member2.getId()),
+            tuple(ChangeType.UPDATE, member2.getId(), member2.getId()),
+            tuple(ChangeType.BULK_UPDATE, member1.getId(), member1.getId()));
+    assertThat(events)
+        .filteredOn(e -> e.getEntityType() == EntityType.TEAM)
+        .extracting("fromId")
+        .contains(teamA.getId(), teamB.getId());
+    // 전달된 이벤트는 삭제된다.
+    assertThat(outboxRepository.findBatch(1000)).isEmpty();
+  }
+
+  @Test
+  void bulkRanges() {
+    Team team = new Team("outboxRangeTeam");
+    em.persist(team);
+    List<Member> members = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      Member member = new Member("outboxRange" + i, i, team);
+      em.persist(member);
+      members.add(member);
+    }
+    em.flush();
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("outboxRangeTeam");
+    memberJpaRepository.bulkDelete(condition);
+
+    // 연속된 id는 한 구간으로 기록된다.
+    assertThat(outboxRepository.findBatch(1000))
+        .filteredOn(e -> e.getChangeType() == ChangeType.BULK_DELETE)
+        .extracting("changeType", "fromId", "toId")
+        .containsExactly(
+            tuple(ChangeType.BULK_DELETE, members.get(0).getId(), members.get(4).getId()));
+  }
+}
@@ -0,0 +1,140 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.repository.support.MemberCsvImporter;
+
+// 쓰기(insertAll)를 멈춰 두고 읽기가 큐 크기에서 멈추는지, 동시 import 수를 넘으면 거절하는지 확인한다.
+// 팀명 없는 행만 쓰므로 팀 조회(queryFactory)는 하지 않는다.
+class MemberCsvImporterConcurrencyTest {
+
+  private static final int ROWS = 50_000;
+
+  MemberJdbcRepository memberJdbcRepository;
+  MemberCsvImporter importer;
+  CountDownLatch writing;
+  CountDownLatch release;
+
+  @BeforeEach
+  void before() {
+    writing = new CountDownLatch(1);
+    release = new CountDownLatch(1);
+    memberJdbcRepository = mock(MemberJdbcRepository.class);
+    when(memberJdbcRepository.insertAll(anyList()))
+        .thenAnswer(
+            invocation -> {
+              writing.countDown();
+              release.await();
+              return List.of();
+            });
+    TransactionTemplate transactionTemplate =
+        new TransactionTemplate(mock(PlatformTransactionManager.class));
+    // 동시 import 1개, 배치 100행, 큐 1개
+    importer =
+        new MemberCsvImporter(memberJdbcRepository, null, transactionTemplate, 1, 100, 1, 10);
+  }
+
+  @AfterEach
+  void after() {
+    release.countDown();
+    importer.shutdown();
+  }
+
+  @Test
+  void readerWaitsForWriter() throws Exception {
+    CountingInputStream in = new CountingInputStream(csv(ROWS));
+    long total = in.available();
+    CompletableFuture<MemberImportResult> result = importAsync(in);
+
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+    Thread.sleep(200);
+    // 쓰는 중인 배치 1개 + 큐 1개 + 만들고 있는 배치 1개 (+ BufferedReader 버퍼) 만큼만 읽는다.
+    assertThat(in.read.get()).isLessThan(total / 10);
+    assertThat(result).isNotDone();
+
+    release.countDown();
+    MemberImportResult finished = result.get(10, TimeUnit.SECONDS);
+    assertThat(finished.getRowsRead()).isEqualTo(ROWS);
+    assertThat(finished.getImported()).isEqualTo(ROWS);
+    assertThat(in.read.get()).isEqualTo(total);
+  }
+
+  @Test
+  void rejectWhenTooManyImports() throws Exception {
+    CompletableFuture<MemberImportResult> first = importAsync(csv(ROWS));
+    assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+    assertThatThrownBy(() -> importer.importCsv(csv(1)))
+        .isInstanceOf(RejectedExecutionException.class);
+
+    release.countDown();
+    assertThat(first.get(10, TimeUnit.SECONDS).getImported()).isEqualTo(ROWS);
+  }
+
+  private CompletableFuture<MemberImportResult> importAsync(InputStream in) {
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try {
+            return importer.importCsv(in);
+          } catch (IOException e) {
+            throw new IllegalStateException(e);
+          }
+        });
+  }
+
+  private static InputStream csv(int rows) {
+    StringBuilder csv = new StringBuilder("username,age,teamName\n");
+    for (int i = 0; i < rows; i++) {
+      csv.append("import").append(i).append(",20,\n");
+    }
+    return new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8));
+  }
+
+  private static final class CountingInputStream extends FilterInputStream {
+
+    private final AtomicLong read = new AtomicLong();
+
+    CountingInputStream(InputStream in) {
+      super(in);
+    }
+
+    @Override
+    public int read() throws IOException {
+      int b = super.read();
+      if (b >= 0) {
+        read.incrementAndGet();
+      }
+      return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+      int n = super.read(buffer, offset, length);
+      if (n > 0) {
+        read.addAndGet(n);
+      }
+      return n;
+    }
+  }
+}
@@ -0,0 +1,112 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberImportResult;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberCsvImporter;
+
+// 쓰기 스레드가 자기 트랜잭션으로 커밋하므로 테스트 트랜잭션을 쓰지 않고, 끝나면 직접 지운다.
+@SpringBootTest(properties = {"member.import.batch-size=3", "member.import.queue-capacity=1"})
+class MemberCsvImporterTest {
+
+  @Autowired EntityManager em;
+  @Autowired TransactionTemplate transactionTemplate;
+  @Autowired MemberCsvImporter importer;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired TeamStatsRepository teamStatsRepository;
+
+  String teamName;
+  Long teamId;
+
+  @BeforeEach
+  void before() {
+    teamName = "importTeam" + System.nanoTime();
+    Team team = new Team(teamName);
+    transactionTemplate.executeWithoutResult(status -> em.persist(team));
+    teamId = team.getId();
+  }
+
+  @AfterEach
+  void after() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          memberJpaRepository.bulkDelete(condition());
+          em.remove(em.find(Team.class, teamId));
+        });
+  }
+
+  @Test
+  void importInBatches() throws Exception {
+    String csv =
+        "username,age,teamName\n"
+            + "import1,10," + teamName + "\n"
+            + "import2,20," + teamName + "\n"
+            + "\"import,3\",30," + teamName + "\n"
+            + "\n"
+            + "import4,abc," + teamName + "\n"
+            + "import5,50,noSuchImportTeam\n"
+            + "import6,60," + teamName + "\n"
+            + "import7,70," + teamName + "\n";
+
+    MemberImportResult result = importCsv(csv);
+
+    assertThat(result.getRowsRead()).isEqualTo(7);
+    assertThat(result.getImported()).isEqualTo(5);
+    assertThat(result.getFailed()).isEqualTo(2);
+    assertThat(result.getErrors()).extracting("line").containsExactly(6L, 7L);
+    assertThat(result.isErrorsTruncated()).isFalse();
+
+    List<MemberTeamDto> members = memberJpaRepository.search(condition());
+    assertThat(members)
+        .extracting("username", "age")
+        .containsExactlyInAnyOrder(
+            tuple("import1", 10),
+            tuple("import2", 20),
+            tuple("import,3", 30),
+            tuple("import6", 60),
+            tuple("import7", 70));
+
+    // JDBC 배치 insert도 요약 테이블을 갱신한다.
+    TeamStatsDto stats =
+        teamStatsRepository.findAll().stream()
+            .filter(s -> s.getTeamId().equals(teamId))
+            .findFirst()
+            .orElseThrow();
+    assertThat(stats.getMemberCount()).isEqualTo(5);
+    assertThat(stats.getAgeSum()).isEqualTo(190);
+    assertThat(stats.getMinAge()).isEqualTo(10);
+    assertThat(stats.getMaxAge()).isEqualTo(70);
+  }
+
+  @Test
+  void rejectWrongHeader() {
+    assertThatThrownBy(() -> importCsv("name,age\nimport1,10\n"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private MemberImportResult importCsv(String csv) throws Exception {
+    return importer.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+  }
+
+  private MemberSearchCondition condition() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName(teamName);
+    return condition;
+  }
+}
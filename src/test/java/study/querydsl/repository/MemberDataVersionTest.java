@@ -0,0 +1,54 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberDataVersion;
+
+// 버전은 트랜잭션이 끝난 뒤에 올라가므로 테스트 트랜잭션 없이 직접 커밋한다.
+@SpringBootTest
+class MemberDataVersionTest {
+
+  @Autowired EntityManager em;
+  @Autowired TransactionTemplate transactionTemplate;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired MemberDataVersion dataVersion;
+
+  @Test
+  void bumpAfterCommit() {
+    String teamName = "versionTeam" + System.nanoTime();
+    Team team = new Team(teamName);
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName(teamName);
+
+    long before = dataVersion.current();
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          em.persist(team);
+          em.persist(new Member("version1", 10, team));
+          em.flush();
+          // 커밋 전에는 그대로
+          assertThat(dataVersion.current()).isEqualTo(before);
+        });
+    long afterInsert = dataVersion.current();
+    assertThat(afterInsert).isGreaterThan(before);
+
+    // 벌크 연산도 버전을 올린다.
+    transactionTemplate.executeWithoutResult(
+        status -> memberJpaRepository.bulkAddAge(condition, 1));
+    assertThat(dataVersion.current()).isGreaterThan(afterInsert);
+
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          memberJpaRepository.bulkDelete(condition);
+          em.remove(em.find(Team.class, team.getId()));
+        });
+  }
+}
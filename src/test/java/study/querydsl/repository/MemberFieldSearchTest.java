@@ -0,0 +1,116 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberFieldRow;
+import study.querydsl.dto.MemberFieldSet;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+// fields 파라미터로 요청한 컬럼만 조회하는 경로
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "member.hibernate-stats.mode=always"
+    })
+@Transactional
+class MemberFieldSearchTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired MemberRepository memberRepository;
+
+  Team teamA;
+  Statistics statistics;
+
+  @BeforeEach
+  void before() {
+    teamA = new Team("fieldsTeamA");
+    Team teamB = new Team("fieldsTeamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    em.persist(new Member("fields1", 10, teamA));
+    em.persist(new Member("fields2", 20, teamA));
+    em.persist(new Member("fields3", 30, teamA));
+    em.persist(new Member("fields4", 40, teamB));
+    em.flush();
+    em.clear();
+    statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+  }
+
+  @Test
+  void selectRequestedColumnsOnly() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setUsername("fields2");
+
+    List<MemberFieldRow> rows =
+        memberJpaRepository.searchFields(condition, MemberFieldSet.parse("username,teamId"));
+
+    assertThat(rows).hasSize(1);
+    assertThat(rows.get(0).getTuple().size()).isEqualTo(2);
+    assertThat(rows.get(0).getTuple().toArray()).containsExactly("fields2", teamA.getId());
+    // 팀명 컬럼도 팀명 조건도 없으므로 team join을 하지 않는다.
+    assertThat(statistics.getQueries())
+        .singleElement()
+        .satisfies(
+            query ->
+                assertThat(query)
+                    .doesNotContainIgnoringCase("join")
+                    .doesNotContain("member1.age"));
+  }
+
+  @Test
+  void teamJoinWhenTeamNameIsRequired() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setAgeGoe(20);
+    condition.setTeamName("fieldsTeamA");
+
+    List<MemberFieldRow> rows =
+        memberJpaRepository.searchFields(condition, MemberFieldSet.parse("username"));
+
+    assertThat(rows)
+        .extracting(row -> row.getTuple().toArray()[0])
+        .containsExactlyInAnyOrder("fields2", "fields3");
+    assertThat(statistics.getQueries()).anyMatch(query -> query.contains("join"));
+  }
+
+  @Test
+  void pageFields() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("fieldsTeamA");
+
+    Page<MemberFieldRow> page =
+        memberRepository.searchPageFields(
+            condition, MemberFieldSet.parse("memberId,teamName"), PageRequest.of(1, 2));
+
+    assertThat(page.getContent()).hasSize(1);
+    assertThat(page.getContent().get(0).getTuple().toArray()[1]).isEqualTo("fieldsTeamA");
+    assertThat(page.getTotalElements()).isEqualTo(3);
+  }
+
+  @Test
+  void parseFields() {
+    assertThat(MemberFieldSet.parse("age, username,age").getFields())
+        .containsExactly(MemberFieldSet.Field.AGE, MemberFieldSet.Field.USERNAME);
+    assertThat(MemberFieldSet.parse("teamId").isTeamJoinRequired()).isFalse();
+    assertThat(MemberFieldSet.parse("teamName").isTeamJoinRequired()).isTrue();
+    assertThatThrownBy(() -> MemberFieldSet.parse("password"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MemberFieldSet.parse(" , "))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,121 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class MemberJdbcRepositoryTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired MemberJdbcRepository memberJdbcRepository;
+
+  @BeforeEach
+  void before() {
+    Team teamA = new Team("teamA");
+    Team teamB = new Team("teamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    for (int i = 0; i < 200; i++) {
+      em.persist(new Member("member" + i, i, i % 2 == 0 ? teamA : teamB));
+    }
+    em.persist(new Member("noTeam", 50));
+    em.flush();
+    em.clear();
+  }
+
+  @Test
+  void sameResultAsJpa() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("teamB");
+    condition.setAgeGoe(35);
+    condition.setAgeLoe(40);
+
+    assertThat(memberJdbcRepository.search(condition))
+        .containsExactlyInAnyOrderElementsOf(memberJpaRepository.search(condition));
+
+    MemberSearchCondition noTeam = new MemberSearchCondition();
+    noTeam.setUsername("noTeam");
+    assertThat(memberJdbcRepository.search(noTeam))
+        .containsExactlyInAnyOrderElementsOf(memberJpaRepository.search(noTeam));
+  }
+
+  // 결과를 목록으로 모으지 않는 바이너리 응답용 조회
+  @Test
+  void hasMoreThanAndForEach() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("teamB");
+    condition.setAgeLoe(20);
+    int rows = memberJdbcRepository.search(condition).size();
+
+    assertThat(memberJdbcRepository.hasMoreThan(condition, rows - 1)).isTrue();
+    assertThat(memberJdbcRepository.hasMoreThan(condition, rows)).isFalse();
+
+    List<MemberTeamDto> streamed = new ArrayList<>();
+    memberJdbcRepository.forEach(condition, rows - 1, streamed::add);
+    assertThat(streamed).hasSize(rows - 1);
+    assertThat(memberJdbcRepository.search(condition)).containsAll(streamed);
+  }
+
+  // 새 시퀀스의 첫 값(1)으로는 id 1만 쓰고, 0 이하 id 없이 다음 값의 구간으로 이어간다.
+  @Test
+  void allocateIdsFromNewSequence() {
+    JdbcTemplate jdbcTemplate =
+        new JdbcTemplate(
+            new DriverManagerDataSource(
+                "jdbc:h2:mem:member_seq_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    jdbcTemplate.execute("create sequence member_seq start with 1 increment by 50");
+    MemberJdbcRepository repository =
+        new MemberJdbcRepository(jdbcTemplate, null, null, null, null, null);
+
+    assertThat(repository.allocateIds(3)).containsExactly(1L, 2L, 3L);
+    assertThat(repository.allocateIds(2)).containsExactly(52L, 53L);
+  }
+
+  // JPA 경로와 JDBC 경로의 단순 처리량 비교 (결과는 출력만 한다, ./gradlew loadTest)
+  @Tag("load")
+  @Test
+  void throughput() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("teamA");
+    condition.setAgeGoe(10);
+
+    System.out.println("jpa  ops/s = " + measure(memberJpaRepository::search, condition));
+    System.out.println("jdbc ops/s = " + measure(memberJdbcRepository::search, condition));
+  }
+
+  private long measure(
+      Function<MemberSearchCondition, List<MemberTeamDto>> search,
+      MemberSearchCondition condition) {
+    // 워밍업
+    for (int i = 0; i < 200; i++) {
+      search.apply(condition);
+      em.clear();
+    }
+    int iterations = 500;
+    long start = System.nanoTime();
+    for (int i = 0; i < iterations; i++) {
+      search.apply(condition);
+      em.clear();
+    }
+    long elapsed = System.nanoTime() - start;
+    return iterations * 1_000_000_000L / elapsed;
+  }
+}
@@ -8,6 +8,7 @@ import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
@@ -77,4 +78,35 @@ class MemberJpaRepositoryTest {
 
     assertThat(result).extracting("username").containsExactly("member4");
   }
+
+  @Test
+  void findAllByIdsTest() {
+    Team teamA = new Team("teamA");
+    em.persist(teamA);
+    Member member1 = new Member("member1", 10, teamA);
+    Member member2 = new Member("member2", 20, teamA);
+    Member member3 = new Member("member3", 30);
+    em.persist(member1);
+    em.persist(member2);
+    em.persist(member3);
+    em.flush();
+    em.clear();
+
+    // member2는 영속성 컨텍스트에 있는 상태, 나머지는 DB에서 조회
+    em.find(Member.class, member2.getId()).getTeam().getName();
+
+    List<MemberTeamDto> result =
+        memberJpaRepository.findAllByIds(
+            List.of(member3.getId(), member1.getId(), -1L, member2.getId(), member1.getId()));
+
+    assertThat(result).extracting("username").containsExactly("member3", "member1", "member2");
+    assertThat(result).extracting("teamName").containsExactly(null, "teamA", "teamA");
+  }
+
+  // 서비스나 배치처럼 트랜잭션 밖에서 호출해도 영속성 컨텍스트 확인이 실패하지 않는다.
+  @Test
+  @Transactional(propagation = Propagation.NOT_SUPPORTED)
+  void findAllByIdsWithoutTransaction() {
+    assertThat(memberJpaRepository.findAllByIds(List.of(-1L, -2L))).isEmpty();
+  }
 }
@@ -0,0 +1,69 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.TeamWithMembersDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class MemberQueryRepositoryTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberQueryRepository memberQueryRepository;
+
+  @Test
+  void findTeamsWithMembers() {
+    Team teamA = new Team("teamA");
+    Team teamB = new Team("teamB");
+    Team teamC = new Team("teamC");
+    em.persist(teamA);
+    em.persist(teamB);
+    em.persist(teamC);
+    em.persist(new Member("member1", 10, teamA));
+    em.persist(new Member("member2", 20, teamA));
+    em.persist(new Member("member3", 30, teamB));
+    em.flush();
+    em.clear();
+
+    Page<TeamWithMembersDto> result =
+        memberQueryRepository.findTeamsWithMembers(PageRequest.of(0, 1000));
+
+    // 다른 테스트에서 커밋한 팀이 있을 수 있으므로 이 테스트에서 만든 팀만 확인한다.
+    List<Long> teamIds = List.of(teamA.getId(), teamB.getId(), teamC.getId());
+    List<TeamWithMembersDto> teams =
+        result.getContent().stream().filter(t -> teamIds.contains(t.getTeamId())).toList();
+    assertThat(teams).extracting("teamName").containsExactly("teamA", "teamB", "teamC");
+    assertThat(teams.get(0).getMembers())
+        .extracting("username")
+        .containsExactly("member1", "member2");
+    assertThat(teams.get(1).getMembers()).extracting("username").containsExactly("member3");
+    assertThat(teams.get(2).getMembers()).isEmpty();
+  }
+
+  @Test
+  void findTeamsWithMembersPage() {
+    Team teamA = new Team("teamA");
+    em.persist(teamA);
+    em.persist(new Member("member1", 10, teamA));
+    em.persist(new Team("teamB"));
+    em.flush();
+    em.clear();
+
+    // 페이지 크기만큼의 팀만 Tuple 스트림 경로로 묶인다.
+    Page<TeamWithMembersDto> result =
+        memberQueryRepository.findTeamsWithMembers(PageRequest.of(0, 1));
+
+    assertThat(result.getContent()).hasSize(1);
+    assertThat(result.getTotalElements()).isGreaterThanOrEqualTo(2);
+  }
+}
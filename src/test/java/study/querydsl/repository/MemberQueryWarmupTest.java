@@ -0,0 +1,44 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberQueryWarmup;
+
+@SpringBootTest(properties = "member.warmup.iterations=2")
+@Transactional
+class MemberQueryWarmupTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberQueryWarmup memberQueryWarmup;
+  @Autowired MeterRegistry meterRegistry;
+
+  @Test
+  void warmupRegistersLatencyGauges() {
+    Team team = new Team("warmupTeam");
+    em.persist(team);
+    em.persist(new Member("warmup1", 20, team));
+    em.flush();
+
+    memberQueryWarmup.warmup();
+
+    // 16가지 조건 조합 x 4가지 쿼리 x (first, last)
+    assertThat(meterRegistry.find("member.warmup.latency").gauges()).hasSize(16 * 4 * 2);
+    assertThat(
+            meterRegistry
+                .get("member.warmup.latency")
+                .tag("query", "v3-count")
+                .tag("shape", "username,teamName,ageGoe,ageLoe")
+                .tag("stage", "first")
+                .gauge()
+                .value())
+        .isGreaterThan(0);
+  }
+}
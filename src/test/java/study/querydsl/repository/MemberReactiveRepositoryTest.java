@@ -0,0 +1,106 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+// R2DBC(H2)는 JPA와 다른 커넥션을 쓰므로 테스트 트랜잭션 없이 커밋하고, 끝나면 직접 지운다.
+@SpringBootTest(properties = "member.reactive.enabled=true")
+class MemberReactiveRepositoryTest {
+
+  @Autowired EntityManager em;
+  @Autowired TransactionTemplate transactionTemplate;
+  @Autowired MemberReactiveRepository memberReactiveRepository;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired MemberRepository memberRepository;
+
+  String teamName;
+  Long teamId;
+
+  @BeforeEach
+  void before() {
+    teamName = "reactiveTeam" + System.nanoTime();
+    Team team = new Team(teamName);
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          em.persist(team);
+          for (int i = 0; i < 10; i++) {
+            em.persist(new Member("reactive" + i, 20 + i, team));
+          }
+        });
+    teamId = team.getId();
+  }
+
+  @AfterEach
+  void after() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          memberJpaRepository.bulkDelete(teamCondition());
+          em.remove(em.find(Team.class, teamId));
+        });
+  }
+
+  private MemberSearchCondition teamCondition() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName(teamName);
+    return condition;
+  }
+
+  @Test
+  void search() {
+    MemberSearchCondition condition = teamCondition();
+    condition.setUsername("");
+    condition.setAgeGoe(23);
+    condition.setAgeLoe(26);
+
+    assertThat(memberReactiveRepository.search(condition).collectList().block())
+        .hasSize(4)
+        .containsExactlyInAnyOrderElementsOf(memberJpaRepository.search(condition));
+  }
+
+  @Test
+  void searchPageComplex() {
+    MemberSearchCondition condition = teamCondition();
+    PageRequest pageRequest = PageRequest.of(1, 3);
+
+    Page<MemberTeamDto> page =
+        memberReactiveRepository.searchPageComplex(condition, pageRequest).block();
+    Page<MemberTeamDto> expected = memberRepository.searchPageComplex(condition, pageRequest);
+
+    assertThat(page.getContent()).hasSize(3);
+    assertThat(page.getTotalElements()).isEqualTo(10);
+    assertThat(page.getTotalElements()).isEqualTo(expected.getTotalElements());
+  }
+
+  // 결과가 없을 것이 확실한 조건이면 R2DBC 쿼리 없이 빈 결과를 돌려준다.
+  @Test
+  void impossibleCondition() {
+    MemberSearchCondition ageConflict = teamCondition();
+    ageConflict.setAgeGoe(30);
+    ageConflict.setAgeLoe(20);
+    MemberSearchCondition unknownTeam = new MemberSearchCondition();
+    unknownTeam.setTeamName(teamName + "-unknown");
+    PageRequest pageRequest = PageRequest.of(0, 3);
+
+    assertThat(memberReactiveRepository.search(ageConflict).collectList().block()).isEmpty();
+    assertThat(memberReactiveRepository.search(unknownTeam).collectList().block()).isEmpty();
+
+    Page<MemberTeamDto> page =
+        memberReactiveRepository.searchPageComplex(unknownTeam, pageRequest).block();
+    assertThat(page.getContent()).isEmpty();
+    assertThat(page.getTotalElements()).isZero();
+    assertThat(page.getPageable()).isEqualTo(pageRequest);
+  }
+}
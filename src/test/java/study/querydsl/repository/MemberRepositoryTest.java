@@ -5,16 +5,23 @@ import static org.junit.jupiter.api.Assertions.*;
 
 import jakarta.persistence.EntityManager;
 import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.transaction.annotation.Transactional;
 import study.querydsl.dto.MemberSearchCondition;
 import study.querydsl.dto.MemberTeamDto;
 import study.querydsl.entity.Member;
 import study.querydsl.entity.Team;
 
-@SpringBootTest
+@SpringBootTest(
+    properties = {
+      "spring.jpa.properties.hibernate.generate_statistics=true",
+      "member.hibernate-stats.mode=always"
+    })
 @Transactional
 class MemberRepositoryTest {
   @Autowired EntityManager em;
@@ -66,4 +73,35 @@ class MemberRepositoryTest {
 
     assertThat(result).extracting("username").containsExactly("member4");
   }
+
+  @Test
+  void searchImpossibleCondition() {
+    Team teamA = new Team("teamA");
+    em.persist(teamA);
+    em.persist(new Member("member1", 10, teamA));
+    em.flush();
+    Statistics statistics =
+        em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+    statistics.clear();
+
+    // 나이 범위가 모순이면 SQL을 하나도 실행하지 않는다.
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setAgeGoe(40);
+    condition.setAgeLoe(35);
+    assertThat(memberRepository.searchPageComplex(condition, PageRequest.of(0, 3))).isEmpty();
+    assertThat(statistics.getPrepareStatementCount()).isZero();
+
+    // 없는 팀이면 팀명 확인 쿼리만 실행하고 회원 조회/count 쿼리는 실행하지 않는다.
+    MemberSearchCondition unknownTeam = new MemberSearchCondition();
+    unknownTeam.setTeamName("noSuchTeam");
+    assertThat(memberRepository.search(unknownTeam)).isEmpty();
+    assertThat(memberRepository.searchPageComplex(unknownTeam, PageRequest.of(0, 3))).isEmpty();
+    assertThat(statistics.getQueries()).noneMatch(query -> query.contains("Member"));
+    assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+    // 새로 만든 팀은 캐시에 없어도 다시 확인해서 조회한다.
+    MemberSearchCondition newTeam = new MemberSearchCondition();
+    newTeam.setTeamName("teamA");
+    assertThat(memberRepository.search(newTeam)).extracting("username").contains("member1");
+  }
 }
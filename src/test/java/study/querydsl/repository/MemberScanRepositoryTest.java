@@ -0,0 +1,105 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+// scanAll은 별도 커넥션에서 읽으므로 테스트 트랜잭션 없이 커밋하고, 끝나면 직접 지운다.
+@SpringBootTest
+class MemberScanRepositoryTest {
+
+  @Autowired EntityManager em;
+  @Autowired EntityManagerFactory entityManagerFactory;
+  @Autowired TransactionTemplate transactionTemplate;
+  @Autowired MemberScanRepository memberScanRepository;
+  @Autowired MemberJpaRepository memberJpaRepository;
+
+  String teamName;
+  Long teamId;
+
+  @BeforeEach
+  void before() {
+    teamName = "scanTeam" + System.nanoTime();
+    Team team = new Team(teamName);
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          em.persist(team);
+          for (int i = 0; i < 5; i++) {
+            em.persist(new Member("scan" + i, 10 + i, team));
+          }
+        });
+    teamId = team.getId();
+  }
+
+  @AfterEach
+  void after() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName(teamName);
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          memberJpaRepository.bulkDelete(condition);
+          em.remove(em.find(Team.class, teamId));
+        });
+  }
+
+  @Test
+  void scanInChunks() {
+    List<Integer> chunkSizes = new ArrayList<>();
+    List<Member> scanned = new ArrayList<>();
+
+    long count =
+        memberScanRepository.scanAll(
+            2,
+            2,
+            chunk -> {
+              chunkSizes.add(chunk.size());
+              for (Member member : chunk) {
+                if (member.getTeam() != null && teamName.equals(member.getTeam().getName())) {
+                  // 팀은 fetch join으로 읽혀 있고, 영속성 컨텍스트에 들어가지 않는다.
+                  assertThat(Hibernate.isInitialized(member.getTeam())).isTrue();
+                  // 변경 감지가 없으므로 DB에 반영되지 않는다.
+                  member.setAge(99);
+                  scanned.add(member);
+                }
+              }
+            });
+
+    // 마지막 chunk만 chunkSize보다 작을 수 있다.
+    assertThat(chunkSizes.stream().mapToLong(Integer::longValue).sum()).isEqualTo(count);
+    assertThat(chunkSizes.subList(0, chunkSizes.size() - 1)).containsOnly(2);
+    assertThat(chunkSizes.get(chunkSizes.size() - 1)).isBetween(1, 2);
+    assertThat(scanned)
+        .extracting("username")
+        .containsExactly("scan0", "scan1", "scan2", "scan3", "scan4");
+    assertThat(scanned).noneMatch(em::contains);
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName(teamName);
+    assertThat(memberJpaRepository.search(condition))
+        .extracting("age")
+        .containsExactlyInAnyOrder(10, 11, 12, 13, 14);
+  }
+
+  @Test
+  void fetchSize() {
+    SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    try (StatelessSession session = sessionFactory.openStatelessSession()) {
+      assertThat(memberScanRepository.scanQuery(session, 250).getFetchSize()).isEqualTo(250);
+    }
+  }
+}
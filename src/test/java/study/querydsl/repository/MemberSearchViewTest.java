@@ -0,0 +1,62 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest(properties = "member.search.read-model=view")
+@Transactional
+class MemberSearchViewTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberRepository memberRepository;
+  @Autowired MemberJpaRepository memberJpaRepository;
+
+  @Test
+  void searchFromView() {
+    Team teamA = new Team("viewTeamA");
+    Team teamB = new Team("viewTeamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    Member member1 = new Member("view1", 10, teamA);
+    Member member2 = new Member("view2", 20, teamA);
+    Member member3 = new Member("view3", 30, teamB);
+    em.persist(member1);
+    em.persist(member2);
+    em.persist(member3);
+    em.flush();
+
+    // 팀 변경, 팀명 변경, 삭제
+    member2.changeTeam(teamB);
+    teamB.setName("viewTeamRenamed");
+    em.remove(member3);
+    em.flush();
+    em.clear();
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("viewTeamRenamed");
+    assertThat(memberRepository.search(condition))
+        .extracting("username", "age", "teamName")
+        .containsExactly(tuple("view2", 20, "viewTeamRenamed"));
+
+    // 벌크 연산도 반영된다.
+    condition.setTeamName("viewTeamA");
+    memberJpaRepository.bulkAddAge(condition, 5);
+    Page<MemberTeamDto> page = memberRepository.searchPageComplex(condition, PageRequest.of(0, 3));
+    assertThat(page.getContent())
+        .extracting("memberId", "username", "age", "teamId")
+        .containsExactly(tuple(member1.getId(), "view1", 15, teamA.getId()));
+    assertThat(page.getTotalElements()).isEqualTo(1);
+  }
+}
@@ -0,0 +1,173 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+import study.querydsl.repository.MemberSnapshotRepository.SnapshotInfo;
+import study.querydsl.repository.support.MemberDataVersion;
+
+// 로컬 H2 메모리 DB 두 개 사이에서 내보내기/복원한다.
+class MemberSnapshotRepositoryTest {
+
+  JdbcTemplate source;
+  JdbcTemplate target;
+  Path file;
+
+  @BeforeEach
+  void before() throws Exception {
+    source = createDatabase("snapshot_source");
+    target = createDatabase("snapshot_target");
+    file = Files.createTempFile("members", ".snap");
+
+    source.update("insert into team (id, name) values (1, 'teamA'), (2, '팀B'), (3, null)");
+    source.batchUpdate(
+        "insert into member (member_id, username, age, team_id) values (?, ?, ?, ?)",
+        List.of(
+            new Object[] {1L, "member1", 10, 1L},
+            new Object[] {2L, "회원2", 20, 2L},
+            new Object[] {3L, null, 30, 2L},
+            new Object[] {4L, "", 40, null},
+            new Object[] {100L, "member100", 50, 3L}));
+  }
+
+  @AfterEach
+  void after() throws Exception {
+    Files.deleteIfExists(file);
+  }
+
+  @Test
+  void exportAndRestore() throws Exception {
+    SnapshotInfo exported = repository(source).export(file);
+    assertThat(exported).isEqualTo(new SnapshotInfo(3, 5));
+
+    // 복원 대상에 있던 데이터는 지워진다.
+    target.update("insert into team (id, name) values (9, 'old')");
+    SnapshotInfo restored = repository(target).restore(file, true);
+    assertThat(restored).isEqualTo(exported);
+
+    String members = "select member_id, username, age, team_id from member order by member_id";
+    String teams = "select id, name from team order by id";
+    assertThat(target.queryForList(members)).isEqualTo(source.queryForList(members));
+    assertThat(target.queryForList(teams)).isEqualTo(source.queryForList(teams));
+
+    // 시퀀스가 기존 id와 겹치지 않는 값부터 다시 시작한다.
+    assertThat(target.queryForObject("select next value for member_seq", Long.class))
+        .isGreaterThan(100L + 50);
+    // 요약 테이블도 다시 계산된다.
+    assertThat(target.queryForList("select team_id, member_count from team_stats order by team_id"))
+        .containsExactly(
+            Map.of("TEAM_ID", 1L, "MEMBER_COUNT", 1L),
+            Map.of("TEAM_ID", 2L, "MEMBER_COUNT", 2L),
+            Map.of("TEAM_ID", 3L, "MEMBER_COUNT", 1L));
+  }
+
+  // member.search.read-model=view 이면 member_search_view도 복원한 데이터로 다시 만든다.
+  @Test
+  void restoreRebuildsSearchView() throws Exception {
+    repository(source).export(file);
+    target.update("insert into member_search_view values (9, 'old', 1, null, null)");
+
+    repository(target, "view").restore(file, true);
+
+    assertThat(
+            target.queryForList(
+                "select member_id, username, age, team_id, team_name from member_search_view"
+                    + " order by member_id"))
+        .isEqualTo(
+            source.queryForList(
+                "select m.member_id, m.username, m.age, t.id as team_id, t.name as team_name"
+                    + " from member m left join team t on t.id = m.team_id order by m.member_id"));
+  }
+
+  // 배치마다 커밋하므로 도중에 실패하면 이미 커밋한 팀을 지워서 복원 전 상태로 돌린다.
+  @Test
+  void failedRestoreRemovesCommittedRows() throws Exception {
+    repository(source).export(file);
+    target.update("insert into team (id, name) values (9, 'old')");
+    // 같은 id의 회원이 이미 있으므로 회원 insert가 실패한다.
+    target.update(
+        "insert into member (member_id, username, age, team_id) values (100, 'old', 1, 9)");
+
+    assertThatThrownBy(() -> repository(target).restore(file, false))
+        .isInstanceOf(RuntimeException.class);
+
+    assertThat(target.queryForList("select id from team", Long.class)).containsExactly(9L);
+    assertThat(target.queryForList("select member_id from member", Long.class))
+        .containsExactly(100L);
+    assertThat(target.queryForList("select team_id from team_stats", Long.class))
+        .containsExactly(9L);
+  }
+
+  // 시퀀스를 다시 시작해도 복원 전에 받아 둔 id 블록은 바뀌지 않으므로, 복원 후에는 재시작해서 새 블록을 받아야 한다.
+  @Test
+  void restoreDoesNotResetAllocatedIdBlock() throws Exception {
+    repository(source).export(file);
+    // 복원 전에 Hibernate pooled 옵티마이저가 받아 둔 블록 (hi - 49 .. hi)
+    long cachedHi = target.queryForObject("select next value for member_seq", Long.class);
+
+    repository(target).restore(file, true);
+
+    // 복원한 id가 이미 받아 둔 블록 안에 있다. 이 블록으로 persist하면 id가 겹친다.
+    assertThat(target.queryForList("select member_id from member", Long.class))
+        .anyMatch(id -> id >= cachedHi - 49 && id <= cachedHi);
+    // 재시작 후 새로 받는 블록은 복원한 id와 겹치지 않는다.
+    long hi = target.queryForObject("select next value for member_seq", Long.class);
+    assertThat(hi - 49).isGreaterThan(100L);
+    long teamHi = target.queryForObject("select next value for team_seq", Long.class);
+    assertThat(teamHi - 49).isGreaterThan(3L);
+  }
+
+  @Test
+  void rejectNonSnapshotFile() throws Exception {
+    Files.write(file, new byte[64]);
+    assertThatThrownBy(() -> repository(target).restore(file, true))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static MemberSnapshotRepository repository(JdbcTemplate jdbcTemplate) {
+    return repository(jdbcTemplate, "join");
+  }
+
+  private static MemberSnapshotRepository repository(JdbcTemplate jdbcTemplate, String readModel) {
+    NamedParameterJdbcTemplate named = new NamedParameterJdbcTemplate(jdbcTemplate);
+    return new MemberSnapshotRepository(
+        jdbcTemplate,
+        new TeamStatsRepository(jdbcTemplate, named, null),
+        new MemberSearchViewRepository(jdbcTemplate, named, readModel),
+        new MemberDataVersion(),
+        new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource())));
+  }
+
+  // 엔티티 매핑과 같은 모양의 스키마
+  private static JdbcTemplate createDatabase(String name) {
+    JdbcTemplate jdbcTemplate =
+        new JdbcTemplate(
+            new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1", "sa", ""));
+    jdbcTemplate.execute("create sequence team_seq start with 1 increment by 50");
+    jdbcTemplate.execute("create sequence member_seq start with 1 increment by 50");
+    jdbcTemplate.execute("create table team (id bigint primary key, name varchar(255))");
+    jdbcTemplate.execute(
+        "create table member (member_id bigint primary key, username varchar(255),"
+            + " age integer not null, team_id bigint references team (id))");
+    jdbcTemplate.execute(
+        "create table team_stats (team_id bigint primary key, member_count bigint not null,"
+            + " age_sum bigint not null, min_age integer, max_age integer)");
+    jdbcTemplate.execute(
+        "create table member_search_view (member_id bigint primary key, username varchar(255),"
+            + " age integer not null, team_id bigint, team_name varchar(255))");
+    return jdbcTemplate;
+  }
+}
@@ -0,0 +1,153 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static study.querydsl.entity.QMember.member;
+import static study.querydsl.entity.QTeam.team;
+
+import com.querydsl.jpa.impl.JPAQuery;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.Querydsl4RepositorySupport;
+
+// 컬렉션 fetch join 페이징(2단계 조회)
+@SpringBootTest
+@Transactional
+class Querydsl4RepositorySupportTest {
+
+  private static final String PREFIX = "pagingTeam";
+
+  @Autowired EntityManager em;
+  @Autowired TeamPagingRepository repository;
+
+  @BeforeEach
+  void before() {
+    // 팀 5개, 팀마다 회원 3명
+    for (int i = 0; i < 5; i++) {
+      Team team = new Team(PREFIX + i);
+      em.persist(team);
+      for (int j = 0; j < 3; j++) {
+        em.persist(new Member("paging" + i + "_" + j, j, team));
+      }
+    }
+    em.flush();
+    em.clear();
+  }
+
+  @Test
+  void pageByRoots() {
+    Page<Team> page =
+        repository.teamsWithMembers(PageRequest.of(0, 2, Sort.by(Sort.Order.desc("name"))));
+
+    // 회원 행 수(6)가 아니라 팀 수만큼 페이징하고, 정렬 순서를 유지한다.
+    assertThat(page.getContent()).extracting("name").containsExactly(PREFIX + 4, PREFIX + 3);
+    assertThat(page.getTotalElements()).isEqualTo(5);
+    assertThat(page.getTotalPages()).isEqualTo(3);
+    for (Team team : page.getContent()) {
+      assertThat(Hibernate.isInitialized(team.getMembers())).isTrue();
+      assertThat(team.getMembers()).hasSize(3);
+    }
+
+    Page<Team> last =
+        repository.teamsWithMembers(PageRequest.of(2, 2, Sort.by(Sort.Order.desc("name"))));
+    assertThat(last.getContent()).extracting("name").containsExactly(PREFIX + 0);
+    assertThat(last.getTotalElements()).isEqualTo(5);
+  }
+
+  @Test
+  void separateCountQuery() {
+    Page<Team> page =
+        repository.teamsWithMembersAndCount(PageRequest.of(1, 2, Sort.by("name")));
+
+    assertThat(page.getContent()).extracting("name").containsExactly(PREFIX + 2, PREFIX + 3);
+    assertThat(page.getTotalElements()).isEqualTo(5);
+  }
+
+  @Test
+  void reusedQueryIsNotModified() {
+    JPAQuery<Team> query = repository.fetchJoinQuery();
+
+    Page<Team> first = repository.page(query, PageRequest.of(0, 2, Sort.by("name")));
+    Page<Team> second = repository.page(query, PageRequest.of(1, 2, Sort.by("name")));
+
+    assertThat(first.getContent()).extracting("name").containsExactly(PREFIX + 0, PREFIX + 1);
+    assertThat(second.getContent()).extracting("name").containsExactly(PREFIX + 2, PREFIX + 3);
+    assertThat(query.getMetadata().getWhere().toString()).doesNotContain(" in ");
+  }
+
+  @Test
+  void rejectSortByCollection() {
+    assertThatThrownBy(
+            () -> repository.teamsWithMembers(PageRequest.of(0, 2, Sort.by("members.username"))))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(
+            () ->
+                repository.page(
+                    repository.fetchJoinQuery().orderBy(member.username.asc()),
+                    PageRequest.of(0, 2)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  static class TeamPagingRepository extends Querydsl4RepositorySupport {
+
+    TeamPagingRepository() {
+      super(Team.class);
+    }
+
+    Page<Team> teamsWithMembers(Pageable pageable) {
+      return applyPagination(
+          pageable,
+          query ->
+              query
+                  .selectFrom(team)
+                  .leftJoin(team.members, member)
+                  .fetchJoin()
+                  .where(team.name.startsWith(PREFIX)));
+    }
+
+    Page<Team> teamsWithMembersAndCount(Pageable pageable) {
+      return applyPagination(
+          pageable,
+          query ->
+              query
+                  .selectFrom(team)
+                  .leftJoin(team.members, member)
+                  .fetchJoin()
+                  .where(team.name.startsWith(PREFIX)),
+          countQuery -> countQuery.selectFrom(team).where(team.name.startsWith(PREFIX)));
+    }
+
+    JPAQuery<Team> fetchJoinQuery() {
+      return selectFrom(team)
+          .leftJoin(team.members, member)
+          .fetchJoin()
+          .where(team.name.startsWith(PREFIX));
+    }
+
+    Page<Team> page(JPAQuery<Team> query, Pageable pageable) {
+      return applyPagination(pageable, queryFactory -> query);
+    }
+  }
+
+  @TestConfiguration
+  static class TeamPagingConfig {
+
+    @Bean
+    TeamPagingRepository teamPagingRepository() {
+      return new TeamPagingRepository();
+    }
+  }
+}
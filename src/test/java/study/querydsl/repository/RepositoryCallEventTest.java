@@ -0,0 +1,94 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class RepositoryCallEventTest {
+
+  @Autowired EntityManager em;
+  @Autowired MemberRepository memberRepository;
+  @Autowired MemberJpaRepository memberJpaRepository;
+
+  @Test
+  void recordAndParse() throws Exception {
+    Team team = new Team("jfrTeam");
+    em.persist(team);
+    for (int i = 0; i < 5; i++) {
+      em.persist(new Member("jfr" + i, 10 + i, team));
+    }
+    em.flush();
+    em.clear();
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("jfrTeam");
+    condition.setAgeGoe(12);
+
+    Path file = Files.createTempFile("repository-call", ".jfr");
+    try (Recording recording = new Recording()) {
+      recording.enable("study.querydsl.RepositoryCall");
+      recording.enable("study.querydsl.JdbcStatement");
+      recording.start();
+      memberJpaRepository.search(condition);
+      // 첫 페이지가 꽉 차므로 count 쿼리(getTotal)도 실행된다.
+      memberRepository.searchPageComplex(condition, PageRequest.of(0, 2));
+      recording.stop();
+      recording.dump(file);
+    }
+
+    List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+    Files.delete(file);
+
+    List<RecordedEvent> calls =
+        events.stream()
+            .filter(e -> e.getEventType().getName().equals("study.querydsl.RepositoryCall"))
+            .toList();
+    assertThat(calls)
+        .extracting(e -> e.getString("operation"))
+        .contains(
+            "MemberJpaRepository.search",
+            "MemberRepositoryImpl.searchPageComplex",
+            "MemberRepositoryImpl.getTotal");
+
+    RecordedEvent search = find(calls, "MemberJpaRepository.search");
+    assertThat(search.getString("shape")).isEqualTo("teamName,ageGoe");
+    assertThat(search.getLong("rows")).isEqualTo(3);
+    assertThat(search.getInt("jdbcStatements")).isGreaterThanOrEqualTo(1);
+    assertThat(search.getDuration("jdbcTime")).isLessThanOrEqualTo(search.getDuration());
+
+    RecordedEvent page = find(calls, "MemberRepositoryImpl.searchPageComplex");
+    RecordedEvent total = find(calls, "MemberRepositoryImpl.getTotal");
+    assertThat(page.getLong("rows")).isEqualTo(2);
+    assertThat(total.getLong("rows")).isEqualTo(3);
+    // getTotal의 JDBC 실행은 바깥 호출(searchPageComplex)에도 더해진다.
+    assertThat(page.getInt("jdbcStatements")).isGreaterThan(total.getInt("jdbcStatements"));
+
+    assertThat(events)
+        .filteredOn(e -> e.getEventType().getName().equals("study.querydsl.JdbcStatement"))
+        .extracting(e -> e.getString("sql"))
+        .anyMatch(sql -> sql.contains("member"));
+  }
+
+  private static RecordedEvent find(List<RecordedEvent> calls, String operation) {
+    return calls.stream()
+        .filter(e -> operation.equals(e.getString("operation")))
+        .findFirst()
+        .orElseThrow();
+  }
+}
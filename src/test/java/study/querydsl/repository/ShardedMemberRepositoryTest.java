@@ -0,0 +1,126 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.IntStream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.MemberTeamDto;
+
+// 로컬 H2 메모리 DB 3개를 샤드로 사용한다.
+class ShardedMemberRepositoryTest {
+
+  ShardedMemberRepository repository;
+
+  @BeforeEach
+  void before() {
+    List<DataSource> dataSources =
+        IntStream.range(0, 3)
+            .mapToObj(i -> (DataSource) new DriverManagerDataSource(shardUrl(i), "sa", ""))
+            .toList();
+    repository = new ShardedMemberRepository(dataSources);
+    repository.createSchema();
+
+    // 팀 1, 2, 3은 각각 다른 샤드에 저장된다.
+    repository.saveTeam(1L, "teamA");
+    repository.saveTeam(2L, "teamB");
+    repository.saveTeam(3L, "teamC");
+    for (long i = 1; i <= 30; i++) {
+      repository.saveMember(i, "member" + i, (int) (i % 10), (i % 3) + 1);
+    }
+    repository.saveMember(31L, "noTeam", 5, null);
+  }
+
+  private static String shardUrl(int shard) {
+    return "jdbc:h2:mem:shard" + shard + "_" + System.nanoTime() + ";DB_CLOSE_DELAY=-1";
+  }
+
+  @AfterEach
+  void after() {
+    repository.close();
+  }
+
+  @Test
+  void searchByTeamGoesToSingleShard() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("teamB");
+
+    List<MemberTeamDto> result = repository.search(condition);
+
+    assertThat(result).hasSize(10).allMatch(dto -> "teamB".equals(dto.getTeamName()));
+    assertThat(repository.shardOf(2L)).isEqualTo(2);
+  }
+
+  // 팀이 바뀐 회원은 새 팀의 샤드로 옮겨져서 팀 조건 검색에 나온다.
+  @Test
+  void updateMemberMovesShard() {
+    // 회원 1은 팀 2(2번 샤드)에 있다.
+    repository.updateMember(1L, "moved", 20, 1L);
+
+    MemberSearchCondition teamA = new MemberSearchCondition();
+    teamA.setTeamName("teamA");
+    assertThat(repository.search(teamA)).extracting("username").contains("moved");
+    MemberSearchCondition teamB = new MemberSearchCondition();
+    teamB.setTeamName("teamB");
+    assertThat(repository.search(teamB)).extracting("memberId").doesNotContain(1L);
+    assertThat(repository.search(new MemberSearchCondition()))
+        .filteredOn(dto -> dto.getMemberId() == 1L)
+        .singleElement()
+        .extracting("teamName")
+        .isEqualTo("teamA");
+
+    repository.deleteMember(1L);
+    assertThat(repository.search(new MemberSearchCondition())).hasSize(30);
+  }
+
+  // 팀 복제는 다시 실행해도 되고, 이름 변경도 모든 샤드에 반영된다.
+  @Test
+  void saveTeamIsIdempotent() {
+    repository.saveTeam(1L, "teamA");
+    repository.saveTeam(1L, "renamed");
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("renamed");
+    assertThat(repository.search(condition)).hasSize(10);
+    assertThat(repository.search(new MemberSearchCondition()))
+        .extracting("teamName")
+        .doesNotContain("teamA");
+  }
+
+  @Test
+  void scatterGatherKeepsGlobalOrder() {
+    List<MemberTeamDto> result = repository.search(new MemberSearchCondition());
+
+    assertThat(result).hasSize(31);
+    assertThat(result).extracting("memberId").isSorted();
+  }
+
+  @Test
+  void scatterGatherPaging() {
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setAgeGoe(3);
+
+    PageRequest pageRequest =
+        PageRequest.of(1, 5, Sort.by(Sort.Order.desc("age"), Sort.Order.asc("username")));
+    Page<MemberTeamDto> page = repository.searchPageComplex(condition, pageRequest);
+
+    List<MemberTeamDto> all =
+        repository.search(condition).stream()
+            .sorted(
+                Comparator.comparing(MemberTeamDto::getAge)
+                    .reversed()
+                    .thenComparing(MemberTeamDto::getUsername))
+            .toList();
+    assertThat(page.getTotalElements()).isEqualTo(all.size());
+    assertThat(page.getContent()).containsExactlyElementsOf(all.subList(5, 10));
+  }
+}
@@ -0,0 +1,196 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.p6spy.engine.common.StatementInformation;
+import com.p6spy.engine.event.SimpleJdbcEventListener;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+import study.querydsl.repository.support.MemberSearchConditionNormalizer;
+
+/**
+ * 메서드/API 호출마다 실행된 SQL과 문장 수를 src/test/resources/sql-snapshots의 골든 파일과 비교한다.
+ *
+ * <p>join 추가, count 쿼리 재등장, N+1 같은 쿼리 모양 변화를 잡기 위한 테스트다. 골든 파일은 저장소에 커밋하고, 파일이 없거나
+ * 다르면 실패한다. 의도한 변경(새 스냅샷 포함)이면 -Dsql.snapshot.update=true로 다시 기록한 뒤 diff를 확인하고 커밋한다.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class SqlSnapshotTest {
+
+  private static final Path SNAPSHOT_DIR = Path.of("src/test/resources/sql-snapshots");
+
+  @Autowired EntityManager em;
+  @Autowired MockMvc mockMvc;
+  @Autowired SqlCapture sqlCapture;
+  @Autowired MemberJpaRepository memberJpaRepository;
+  @Autowired MemberRepository memberRepository;
+  @Autowired MemberTestRepository memberTestRepository;
+  @Autowired MemberSearchConditionNormalizer conditionNormalizer;
+
+  private MemberSearchCondition condition;
+
+  @BeforeEach
+  void before() {
+    Team teamA = new Team("snapshotTeamA");
+    Team teamB = new Team("snapshotTeamB");
+    em.persist(teamA);
+    em.persist(teamB);
+    for (int i = 0; i < 4; i++) {
+      em.persist(new Member("snapshot" + i, 10 * (i + 1), i % 2 == 0 ? teamA : teamB));
+    }
+    em.flush();
+    em.clear();
+
+    condition = new MemberSearchCondition();
+    condition.setTeamName("snapshotTeamA");
+    condition.setAgeGoe(10);
+    condition.setAgeLoe(40);
+    // 팀명 캐시를 미리 채워서 캐시 상태에 따라 SQL이 달라지지 않게 한다.
+    conditionNormalizer.normalize(condition);
+  }
+
+  @Test
+  void search() throws IOException {
+    assertSnapshot("search", () -> memberJpaRepository.search(condition));
+  }
+
+  @Test
+  void searchByBuilder() throws IOException {
+    assertSnapshot("searchByBuilder", () -> memberJpaRepository.searchByBuilder(condition));
+  }
+
+  @Test
+  void searchPageComplex() throws IOException {
+    // 첫 페이지가 다 차지 않으면 count 쿼리를 실행하지 않는다.
+    assertSnapshot(
+        "searchPageComplex-partial",
+        () -> memberRepository.searchPageComplex(condition, PageRequest.of(0, 10)));
+    assertSnapshot(
+        "searchPageComplex-full",
+        () -> memberRepository.searchPageComplex(condition, PageRequest.of(0, 1)));
+  }
+
+  @Test
+  void memberTestRepositoryPaging() throws IOException {
+    PageRequest pageRequest = PageRequest.of(0, 1);
+    assertSnapshot(
+        "searchPageByApplyPage",
+        () -> memberTestRepository.searchPageByApplyPage(condition, pageRequest));
+    assertSnapshot(
+        "applyPagination", () -> memberTestRepository.applyPagination(condition, pageRequest));
+    assertSnapshot(
+        "applyPagination2", () -> memberTestRepository.applyPaginatio2(condition, pageRequest));
+  }
+
+  @Test
+  void controllers() throws IOException {
+    assertSnapshot(
+        "GET-v1-members",
+        () ->
+            mockMvc
+                .perform(get("/v1/members").param("teamName", "snapshotTeamA"))
+                .andExpect(status().isOk()));
+    assertSnapshot(
+        "GET-v3-members",
+        () ->
+            mockMvc
+                .perform(
+                    get("/v3/members")
+                        .param("teamName", "snapshotTeamA")
+                        .param("page", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk()));
+  }
+
+  private void assertSnapshot(String name, ThrowingRunnable call) throws IOException {
+    List<String> statements;
+    sqlCapture.start();
+    try {
+      call.run();
+      // 쓰기 지연된 SQL도 이 호출에 포함한다.
+      em.flush();
+    } catch (Exception e) {
+      throw new IllegalStateException(e);
+    } finally {
+      statements = sqlCapture.stop();
+    }
+    em.clear();
+
+    StringBuilder actual = new StringBuilder();
+    actual.append("-- statements: ").append(statements.size()).append('\n');
+    statements.forEach(sql -> actual.append(sql).append(";\n"));
+
+    Path file = SNAPSHOT_DIR.resolve(name + ".sql");
+    if (Boolean.getBoolean("sql.snapshot.update")) {
+      Files.createDirectories(SNAPSHOT_DIR);
+      Files.writeString(file, actual, StandardCharsets.UTF_8);
+      return;
+    }
+    assertThat(file).as("SQL snapshot %s (새 스냅샷이면 -Dsql.snapshot.update=true)", file).exists();
+    assertThat(actual.toString())
+        .as("SQL snapshot %s (의도한 변경이면 -Dsql.snapshot.update=true)", file)
+        .isEqualTo(Files.readString(file, StandardCharsets.UTF_8));
+  }
+
+  @FunctionalInterface
+  interface ThrowingRunnable {
+    void run() throws Exception;
+  }
+
+  // 현재 스레드에서 실행된 SQL을 공백을 정리해서 모은다. (p6spy가 JPA, JdbcTemplate 모두 감싼다)
+  static class SqlCapture extends SimpleJdbcEventListener {
+
+    private final ThreadLocal<List<String>> captured = new ThreadLocal<>();
+
+    void start() {
+      captured.set(new ArrayList<>());
+    }
+
+    List<String> stop() {
+      List<String> statements = captured.get();
+      captured.remove();
+      return statements;
+    }
+
+    @Override
+    public void onAfterAnyExecute(
+        StatementInformation statementInformation, long timeElapsedNanos, SQLException e) {
+      List<String> statements = captured.get();
+      if (statements != null) {
+        statements.add(statementInformation.getSql().replaceAll("\\s+", " ").trim());
+      }
+    }
+  }
+
+  @TestConfiguration
+  static class SqlCaptureConfig {
+
+    @Bean
+    SqlCapture sqlCapture() {
+      return new SqlCapture();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package study.querydsl.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import study.querydsl.dto.MemberSearchCondition;
+import study.querydsl.dto.TeamStatsDto;
+import study.querydsl.entity.Member;
+import study.querydsl.entity.Team;
+
+@SpringBootTest
+@Transactional
+class TeamStatsRepositoryTest {
+
+  @Autowired EntityManager em;
+  @Autowired TeamStatsRepository teamStatsRepository;
+  @Autowired MemberJpaRepository memberJpaRepository;
+
+  @Test
+  void incrementalUpdate() {
+    Team teamA = new Team("teamA");
+    Team teamB = new Team("teamB");
+    em.persist(teamA);
+    em.persist(teamB);
+
+    Member member1 = new Member("member1", 10, teamA);
+    Member member2 = new Member("member2", 20, teamA);
+    Member member3 = new Member("member3", 30, teamB);
+    em.persist(member1);
+    em.persist(member2);
+    em.persist(member3);
+    em.flush();
+
+    // 팀 변경
+    member2.changeTeam(teamB);
+    em.flush();
+
+    // 삭제
+    em.remove(member3);
+    em.flush();
+
+    // 다른 테스트에서 커밋한 팀이 있을 수 있으므로 이 테스트에서 만든 팀만 확인한다.
+    List<TeamStatsDto> result = teamStatsRepository.findAll();
+    assertThat(result)
+        .filteredOn(stats -> List.of(teamA.getId(), teamB.getId()).contains(stats.getTeamId()))
+        .extracting("teamName", "memberCount", "ageSum", "minAge", "maxAge")
+        .containsExactly(
+            tuple("teamA", 1L, 10L, 10, 10),
+            tuple("teamB", 1L, 20L, 20, 20));
+    assertThat(teamStatsRepository.findDriftedTeamIds())
+        .doesNotContain(teamA.getId(), teamB.getId());
+  }
+
+  @Test
+  void bulkUpdate() {
+    Team teamA = new Team("teamA");
+    em.persist(teamA);
+    em.persist(new Member("member1", 10, teamA));
+    em.persist(new Member("member2", 20, teamA));
+    em.flush();
+
+    MemberSearchCondition condition = new MemberSearchCondition();
+    condition.setTeamName("teamA");
+    memberJpaRepository.bulkAddAge(condition, 1);
+
+    assertThat(teamStatsRepository.findAll())
+        .filteredOn(stats -> stats.getTeamId().equals(teamA.getId()))
+        .extracting("memberCount", "ageSum", "minAge", "maxAge")
+        .containsExactly(tuple(2L, 32L, 11, 21));
+    assertThat(teamStatsRepository.findDriftedTeamIds()).doesNotContain(teamA.getId());
+  }
+}
@@ -0,0 +1,3 @@
+-- statements: 2
+select m1_0.member_id,m1_0.age,m1_0.team_id,m1_0.username from member m1_0 left join team t1_0 on t1_0.id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=? offset ? rows fetch first ? rows only;
+select count(m1_0.member_id) from member m1_0 left join team t1_0 on t1_0.id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=?;
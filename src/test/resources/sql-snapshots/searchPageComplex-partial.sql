@@ -0,0 +1,2 @@
+-- statements: 1
+select m1_0.member_id,m1_0.username,m1_0.age,t1_0.id,t1_0.name from member m1_0 left join team t1_0 on t1_0.id=m1_0.team_id where t1_0.name=? and m1_0.age>=? and m1_0.age<=? offset ? rows fetch first ? rows only;